@@ -0,0 +1,20 @@
+package co.com.ml.config;
+
+import co.com.ml.usecase.product.ProductUseCase;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IndexWarmUpConfig {
+
+    /**
+     * Construye los índices en memoria del caso de uso una vez la aplicación está lista.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> productIndexWarmUp(ProductUseCase productUseCase) {
+        return event -> productUseCase.initializeIndexes();
+    }
+
+}
@@ -0,0 +1,174 @@
+package co.com.ml.transfer;
+
+import co.com.ml.api.dto.ProductDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lectura y escritura de productos en CSV (RFC 4180): campos separados por comas, entre comillas dobles
+ * cuando contienen comas, comillas o saltos de línea, y con las comillas internas duplicadas.
+ * La primera fila nombra las columnas, que pueden venir en cualquier orden.
+ */
+final class CatalogCsv {
+
+    static final List<String> COLUMNS =
+            List.of("id", "productName", "imageUrl", "description", "price", "rating", "specifications");
+
+    /**
+     * Longitud máxima, en caracteres, de un registro que ocupa varias líneas. Una comilla sin cerrar deja de
+     * acumular líneas al alcanzarla, de modo que no arrastra el resto del archivo a un solo registro.
+     */
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private CatalogCsv() {
+    }
+
+    /**
+     * Indica si el archivo es CSV según su extensión; cualquier otro se trata como NDJSON.
+     */
+    static boolean isCsv(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    /**
+     * Lee el siguiente registro completo, que puede ocupar varias líneas si un campo entre comillas
+     * contiene saltos de línea. Si el registro supera {@link #MAX_RECORD_LENGTH} con una comilla aún abierta,
+     * se retorna tal como está, y {@link #split(String)} lo rechaza; la lectura sigue en la línea siguiente.
+     *
+     * @return el registro, o null al final del archivo
+     */
+    static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        boolean open = hasOddQuotes(line);
+        if (!open) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (open && record.length() < MAX_RECORD_LENGTH) {
+            line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            record.append('\n').append(line);
+            open ^= hasOddQuotes(line);
+        }
+        return record.toString();
+    }
+
+    /**
+     * Separa un registro en sus campos.
+     *
+     * @throws IllegalArgumentException si una comilla no está cerrada
+     */
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>(COLUMNS.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Comilla sin cerrar");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Construye el producto a partir de los campos de un registro; los campos vacíos quedan nulos.
+     *
+     * @param columns posición de cada columna según la fila de encabezado
+     * @throws IllegalArgumentException si el precio o la calificación no son números
+     */
+    static ProductDto toDto(List<String> fields, Map<String, Integer> columns) {
+        return ProductDto.builder()
+                .id(field(fields, columns, "id"))
+                .productName(field(fields, columns, "productName"))
+                .imageUrl(field(fields, columns, "imageUrl"))
+                .description(field(fields, columns, "description"))
+                .price(number(field(fields, columns, "price"), "price"))
+                .rating(number(field(fields, columns, "rating"), "rating"))
+                .specifications(field(fields, columns, "specifications"))
+                .build();
+    }
+
+    /**
+     * Representa el producto como un registro CSV, en el orden de {@link #COLUMNS}.
+     */
+    static String format(ProductDto product) {
+        return String.join(",", escape(product.getId()), escape(product.getProductName()),
+                escape(product.getImageUrl()), escape(product.getDescription()),
+                product.getPrice() == null ? "" : product.getPrice().toString(),
+                product.getRating() == null ? "" : product.getRating().toString(),
+                escape(product.getSpecifications()));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static Double number(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La columna " + column + " no es un número: " + value);
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Indica si la línea tiene una cantidad impar de comillas, es decir, si abre o cierra un campo entre comillas
+     * que continúa en otra línea. Las comillas duplicadas dentro de un campo no cambian la paridad.
+     */
+    private static boolean hasOddQuotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+}
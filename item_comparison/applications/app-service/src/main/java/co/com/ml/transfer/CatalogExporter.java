@@ -0,0 +1,80 @@
+package co.com.ml.transfer;
+
+import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.usecase.product.ProductUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exporta el catálogo a un archivo NDJSON o CSV en streaming.
+ * Los productos se escriben a medida que se recorre el repositorio, sin construir el listado completo;
+ * el archivo se escribe primero con un nombre temporal y se reemplaza al terminar, de modo que nunca
+ * queda un archivo a medio escribir con el nombre final.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogExporter {
+
+    private final ObjectMapper objectMapper;
+    private final ProductMapper productMapper;
+    private final ProductUseCase productUseCase;
+
+    /**
+     * Exporta el catálogo completo en orden de inserción. Si la exportación falla, el archivo temporal se
+     * elimina y el archivo de destino queda como estaba.
+     *
+     * @param file archivo de destino; CSV si su extensión es {@code .csv}, NDJSON en otro caso
+     * @return la cantidad de productos exportados
+     */
+    public long exportFile(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            long exported = write(temporary, CatalogCsv.isCsv(file));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return exported;
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private long write(Path temporary, boolean csv) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ProductDto.class);
+        AtomicLong exported = new AtomicLong();
+        try (BufferedWriter output = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            if (csv) {
+                output.write(String.join(",", CatalogCsv.COLUMNS));
+                output.newLine();
+            }
+            productUseCase.forEachProduct(product -> {
+                ProductDto productDto = productMapper.toDto(product);
+                try {
+                    output.write(csv ? CatalogCsv.format(productDto) : writer.writeValueAsString(productDto));
+                    output.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exported.incrementAndGet();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return exported.get();
+    }
+}
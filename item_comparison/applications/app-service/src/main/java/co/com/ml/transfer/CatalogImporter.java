@@ -0,0 +1,176 @@
+package co.com.ml.transfer;
+
+import co.com.ml.api.batch.ProductBatchIngest;
+import co.com.ml.api.dto.ProductBatchItemDto;
+import co.com.ml.api.dto.ProductBatchResultDto;
+import co.com.ml.api.dto.ProductDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importa un archivo NDJSON o CSV al catálogo en streaming.
+ * El archivo se lee por bloques de {@code catalog.transfer.batch-size} registros que se interpretan en paralelo;
+ * cada bloque se valida y se persiste, en el orden del archivo, con una sola escritura del repositorio
+ * (ver {@link ProductBatchIngest}). Como máximo hay un bloque en espera por hilo, por lo que la memoria usada
+ * no depende del tamaño del archivo. Los registros inválidos o con el ID de un producto ya guardado se informan
+ * y se omiten sin detener la importación.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogImporter {
+
+    private final ObjectMapper objectMapper;
+    private final ProductBatchIngest productBatchIngest;
+    private final CatalogTransferProperties properties;
+
+    /**
+     * Totales de una importación.
+     *
+     * @param created productos guardados
+     * @param rejected registros omitidos por no ser válidos o por repetir un ID
+     */
+    public record Result(long created, long rejected) {
+
+        Result plus(Result other) {
+            return new Result(created + other.created, rejected + other.rejected);
+        }
+    }
+
+    private record Chunk(long firstRecord, List<String> records) {
+    }
+
+    private record Parsed(List<Long> recordNumbers, List<ProductDto> products, long rejected) {
+    }
+
+    /**
+     * Importa el archivo al repositorio configurado.
+     *
+     * @param file archivo NDJSON, o CSV si su extensión es {@code .csv}
+     * @return los totales de la importación
+     */
+    public Result importFile(Path file) throws IOException {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int parallelism = Math.max(1, properties.getParallelism());
+        boolean csv = CatalogCsv.isCsv(file);
+        ObjectReader reader = objectMapper.readerFor(ProductDto.class);
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        Deque<Future<Parsed>> pending = new ArrayDeque<>();
+        Result result = new Result(0, 0);
+        try (BufferedReader input = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Integer> columns = csv ? header(input) : Map.of();
+            long nextRecord = 1;
+            List<String> records;
+            while (!(records = readChunk(input, csv, batchSize)).isEmpty()) {
+                Chunk chunk = new Chunk(nextRecord, records);
+                nextRecord += records.size();
+                pending.add(workers.submit(() -> parse(chunk, csv, columns, reader)));
+                if (pending.size() > parallelism) {
+                    result = result.plus(commit(await(pending.poll())));
+                }
+            }
+            while (!pending.isEmpty()) {
+                result = result.plus(commit(await(pending.poll())));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> header(BufferedReader input) throws IOException {
+        String record = CatalogCsv.readRecord(input);
+        Map<String, Integer> columns = new HashMap<>();
+        if (record != null) {
+            List<String> names = CatalogCsv.split(record.replace("\uFEFF", ""));
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> readChunk(BufferedReader input, boolean csv, int batchSize) throws IOException {
+        List<String> records = new ArrayList<>(batchSize);
+        while (records.size() < batchSize) {
+            String record = csv ? CatalogCsv.readRecord(input) : input.readLine();
+            if (record == null) {
+                break;
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static Parsed parse(Chunk chunk, boolean csv, Map<String, Integer> columns, ObjectReader reader) {
+        List<Long> recordNumbers = new ArrayList<>(chunk.records().size());
+        List<ProductDto> products = new ArrayList<>(chunk.records().size());
+        long rejected = 0;
+        for (int i = 0; i < chunk.records().size(); i++) {
+            String record = chunk.records().get(i);
+            long recordNumber = chunk.firstRecord() + i;
+            if (record.isBlank()) {
+                continue;
+            }
+            try {
+                products.add(csv ? CatalogCsv.toDto(CatalogCsv.split(record), columns) : reader.readValue(record));
+                recordNumbers.add(recordNumber);
+            } catch (JsonProcessingException e) {
+                log.warn("Registro {} rechazado: no es un JSON válido", recordNumber);
+                rejected++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Registro {} rechazado: {}", recordNumber, e.getMessage());
+                rejected++;
+            }
+        }
+        return new Parsed(recordNumbers, products, rejected);
+    }
+
+    private Result commit(Parsed parsed) {
+        if (parsed.products().isEmpty()) {
+            return new Result(0, parsed.rejected());
+        }
+        ProductBatchResultDto batch = productBatchIngest.ingest(parsed.products());
+        for (ProductBatchItemDto item : batch.getItems()) {
+            if (ProductBatchItemDto.REJECTED.equals(item.getStatus())) {
+                log.warn("Registro {} rechazado: {}", parsed.recordNumbers().get(item.getIndex()),
+                        String.join("; ", item.getErrors()));
+            }
+        }
+        return new Result(batch.getCreated(), parsed.rejected() + batch.getRejected());
+    }
+
+    private static Parsed await(Future<Parsed> parsed) {
+        try {
+            return parsed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La importación del catálogo fue interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Error al interpretar el archivo del catálogo", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package co.com.ml.transfer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la importación y exportación del catálogo por archivo al iniciar la aplicación.
+ * El formato se deduce de la extensión: {@code .csv} para CSV y cualquier otra para NDJSON.
+ */
+@Data
+@ConfigurationProperties(prefix = "catalog.transfer")
+public class CatalogTransferProperties {
+
+    /**
+     * Archivo a importar al repositorio configurado; si no se indica, no se importa.
+     */
+    private String importFile;
+
+    /**
+     * Archivo al que se exporta el catálogo, después de la importación si la hay; si no se indica, no se exporta.
+     */
+    private String exportFile;
+
+    /**
+     * Cantidad de registros validados y persistidos en cada escritura del repositorio.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Cantidad de hilos que interpretan los registros en paralelo.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,44 @@
+package co.com.ml.transfer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Importa y exporta el catálogo por archivo al iniciar la aplicación, según {@link CatalogTransferProperties}.
+ * Para usarlo como herramienta de migración sin levantar el servidor HTTP:
+ * <pre>
+ * java -jar item_comparison.jar --spring.main.web-application-type=none \
+ *     --catalog.transfer.import-file=catalogo.ndjson
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogTransferRunner implements ApplicationRunner {
+
+    private final CatalogTransferProperties properties;
+    private final CatalogImporter importer;
+    private final CatalogExporter exporter;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (StringUtils.hasText(properties.getImportFile())) {
+            Path file = Path.of(properties.getImportFile());
+            CatalogImporter.Result result = importer.importFile(file);
+            log.info("Importación de {} terminada: {} productos guardados, {} registros rechazados",
+                    file, result.created(), result.rejected());
+        }
+        if (StringUtils.hasText(properties.getExportFile())) {
+            Path file = Path.of(properties.getExportFile());
+            long exported = exporter.exportFile(file);
+            log.info("Exportación a {} terminada: {} productos", file, exported);
+        }
+    }
+}
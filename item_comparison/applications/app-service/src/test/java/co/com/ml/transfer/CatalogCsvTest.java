@@ -0,0 +1,97 @@
+package co.com.ml.transfer;
+
+import co.com.ml.api.dto.ProductDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CatalogCsv")
+class CatalogCsvTest {
+
+    private static final Map<String, Integer> COLUMNS = Map.of(
+            "id", 0, "productName", 1, "imageUrl", 2, "description", 3, "price", 4, "rating", 5, "specifications", 6);
+
+    @Test
+    @DisplayName("Debería leer un campo entre comillas que ocupa varias líneas")
+    void shouldReadQuotedFieldSpanningSeveralLines() throws IOException {
+        // Arrange
+        BufferedReader reader = new BufferedReader(new StringReader(
+                "p1,\"Laptop, 14\"\"\",https://ejemplo.com/1.jpg,"
+                        + "\"Primera línea\nsegunda \"\"línea\"\"\",899.99,4.3,{}\n"
+                        + "p2,Mouse,https://ejemplo.com/2.jpg,Inalámbrico,19.9,4.0,{}\n"));
+
+        // Act
+        String first = CatalogCsv.readRecord(reader);
+        String second = CatalogCsv.readRecord(reader);
+        String end = CatalogCsv.readRecord(reader);
+
+        // Assert
+        List<String> fields = CatalogCsv.split(first);
+        assertEquals("Laptop, 14\"", fields.get(1));
+        assertEquals("Primera línea\nsegunda \"línea\"", fields.get(3));
+        assertEquals("p2", CatalogCsv.split(second).get(0));
+        assertNull(end);
+    }
+
+    @Test
+    @DisplayName("Debería recuperar el producto escrito con format")
+    void shouldRoundTripFormattedProduct() {
+        // Arrange
+        ProductDto product = ProductDto.builder()
+                .id("p1")
+                .productName("Laptop, \"Pro\"")
+                .imageUrl("https://ejemplo.com/1.jpg")
+                .description("Línea 1\nLínea 2")
+                .price(899.99)
+                .rating(null)
+                .specifications("{\"ram\": \"8GB\"}")
+                .build();
+
+        // Act
+        ProductDto result = CatalogCsv.toDto(CatalogCsv.split(CatalogCsv.format(product)), COLUMNS);
+
+        // Assert
+        assertEquals(product, result);
+    }
+
+    @Test
+    @DisplayName("Debería acotar el registro cuando una comilla no se cierra")
+    void shouldBoundRecordWhenQuoteIsNeverClosed() throws IOException {
+        // Arrange
+        StringBuilder file = new StringBuilder("p1,\"sin cerrar\n");
+        String line = "p,Producto,https://ejemplo.com/p.jpg," + "x".repeat(60) + ",1.0,1.0,{}\n";
+        for (int i = 0; i < 3 * CatalogCsv.MAX_RECORD_LENGTH / line.length(); i++) {
+            file.append(line);
+        }
+        BufferedReader reader = new BufferedReader(new StringReader(file.toString()));
+
+        // Act
+        String broken = CatalogCsv.readRecord(reader);
+        String next = CatalogCsv.readRecord(reader);
+
+        // Assert
+        assertTrue(broken.length() < CatalogCsv.MAX_RECORD_LENGTH + line.length());
+        assertThrows(IllegalArgumentException.class, () -> CatalogCsv.split(broken));
+        assertEquals(Arrays.asList("p", "Producto"), CatalogCsv.split(next).subList(0, 2));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un precio que no es un número")
+    void shouldRejectPriceThatIsNotANumber() {
+        // Arrange
+        List<String> fields = CatalogCsv.split("p1,Laptop,https://ejemplo.com/1.jpg,Laptop,abc,4.0,{}");
+
+        // Act & Assert
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> CatalogCsv.toDto(fields, COLUMNS));
+        assertTrue(exception.getMessage().contains("price"));
+    }
+}
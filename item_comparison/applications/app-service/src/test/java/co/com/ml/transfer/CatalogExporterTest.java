@@ -0,0 +1,132 @@
+package co.com.ml.transfer;
+
+import co.com.ml.api.batch.ProductBatchIngest;
+import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.model.product.Product;
+import co.com.ml.usecase.product.ProductUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CatalogExporter")
+class CatalogExporterTest {
+
+    @Mock
+    private ProductUseCase productUseCase;
+
+    @Mock
+    private ProductBatchIngest productBatchIngest;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = CatalogImporterTest.springObjectMapper();
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private CatalogExporter catalogExporter;
+    private List<Product> catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalogExporter = new CatalogExporter(objectMapper, productMapper, productUseCase);
+        catalog = Arrays.asList(
+                Product.builder().id("p1").productName("Laptop, \"Pro\"").imageUrl("https://ejemplo.com/1.jpg")
+                        .description("Primera línea\nsegunda línea").price(899.99).rating(4.3)
+                        .specifications("{\"ram\": \"8GB\"}").build(),
+                Product.builder().id("p2").productName("Mouse").imageUrl("https://ejemplo.com/2.jpg")
+                        .description("Inalámbrico").price(19.9).rating(null).specifications("{}").build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCatalog() {
+        doAnswer(invocation -> {
+            catalog.forEach(invocation.<Consumer<Product>>getArgument(0));
+            return null;
+        }).when(productUseCase).forEachProduct(any(Consumer.class));
+    }
+
+    /**
+     * Exporta el catálogo al archivo y lo vuelve a importar, retornando los productos recibidos por la carga.
+     */
+    private List<Product> roundTrip(Path file) throws IOException {
+        stubCatalog();
+        List<ProductDto> imported = new ArrayList<>();
+        when(productBatchIngest.ingest(anyList())).thenAnswer(invocation -> {
+            imported.addAll(invocation.getArgument(0));
+            return CatalogImporterTest.ingest(invocation.getArgument(0), new ArrayList<>());
+        });
+        CatalogImporter catalogImporter =
+                new CatalogImporter(objectMapper, productBatchIngest, new CatalogTransferProperties());
+
+        assertEquals(catalog.size(), catalogExporter.exportFile(file));
+        assertEquals(new CatalogImporter.Result(catalog.size(), 0), catalogImporter.importFile(file));
+        return imported.stream().map(productMapper::toModel).toList();
+    }
+
+    @Test
+    @DisplayName("Debería recuperar el catálogo exportado en NDJSON")
+    void shouldRoundTripNdjson() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("catalogo.ndjson");
+
+        // Act
+        List<Product> result = roundTrip(file);
+
+        // Assert
+        assertEquals(catalog, result);
+        assertEquals(catalog.size(), Files.readAllLines(file, StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    @DisplayName("Debería recuperar el catálogo exportado en CSV")
+    void shouldRoundTripCsv() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("catalogo.csv");
+
+        // Act
+        List<Product> result = roundTrip(file);
+
+        // Assert
+        assertEquals(catalog, result);
+        assertEquals(String.join(",", CatalogCsv.COLUMNS), Files.readAllLines(file, StandardCharsets.UTF_8).get(0));
+    }
+
+    @Test
+    @DisplayName("Debería eliminar el archivo temporal y conservar el destino si la exportación falla")
+    @SuppressWarnings("unchecked")
+    void shouldDeleteTemporaryFileWhenExportFails() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("catalogo.ndjson");
+        Files.writeString(file, "anterior\n", StandardCharsets.UTF_8);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Product>>getArgument(0).accept(catalog.get(0));
+            throw new IllegalStateException("Error al leer el catálogo");
+        }).when(productUseCase).forEachProduct(any(Consumer.class));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> catalogExporter.exportFile(file));
+        assertFalse(Files.exists(tempDir.resolve("catalogo.ndjson.tmp")));
+        assertEquals("anterior\n", Files.readString(file, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,157 @@
+package co.com.ml.transfer;
+
+import co.com.ml.api.batch.ProductBatchIngest;
+import co.com.ml.api.config.ProductFieldsFilterConfig;
+import co.com.ml.api.dto.ProductBatchItemDto;
+import co.com.ml.api.dto.ProductBatchResultDto;
+import co.com.ml.api.dto.ProductDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CatalogImporter")
+class CatalogImporterTest {
+
+    @Mock
+    private ProductBatchIngest productBatchIngest;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = springObjectMapper();
+    private final CatalogTransferProperties properties = new CatalogTransferProperties();
+    private final List<List<String>> committed = new ArrayList<>();
+
+    private CatalogImporter catalogImporter;
+
+    /**
+     * ObjectMapper configurado como el de Spring, con el filtro de campos de {@link ProductDto}.
+     */
+    static ObjectMapper springObjectMapper() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new ProductFieldsFilterConfig().productFieldsFilterCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    /**
+     * Simula la carga por lotes: registra los IDs de cada escritura y rechaza los productos sin nombre.
+     */
+    static ProductBatchResultDto ingest(List<ProductDto> products, List<List<String>> committed) {
+        committed.add(products.stream().map(ProductDto::getId).toList());
+        List<ProductBatchItemDto> items = IntStream.range(0, products.size())
+                .mapToObj(i -> ProductBatchItemDto.builder()
+                        .index(i)
+                        .id(products.get(i).getId())
+                        .status(products.get(i).getProductName() == null
+                                ? ProductBatchItemDto.REJECTED : ProductBatchItemDto.CREATED)
+                        .errors(products.get(i).getProductName() == null
+                                ? List.of("El nombre del producto es obligatorio") : List.of())
+                        .build())
+                .toList();
+        int rejected = (int) items.stream()
+                .filter(item -> ProductBatchItemDto.REJECTED.equals(item.getStatus()))
+                .count();
+        return ProductBatchResultDto.builder()
+                .created(products.size() - rejected)
+                .rejected(rejected)
+                .items(items)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setParallelism(4);
+        catalogImporter = new CatalogImporter(objectMapper, productBatchIngest, properties);
+    }
+
+    private void stubIngest() {
+        when(productBatchIngest.ingest(anyList()))
+                .thenAnswer(invocation -> ingest(invocation.getArgument(0), committed));
+    }
+
+    @Test
+    @DisplayName("Debería persistir los bloques en el orden del archivo")
+    void shouldCommitChunksInFileOrder() throws IOException {
+        // Arrange
+        stubIngest();
+        List<String> ids = IntStream.range(0, 25).mapToObj(i -> "p" + i).toList();
+        Path file = tempDir.resolve("catalogo.ndjson");
+        Files.write(file, ids.stream()
+                .map(id -> "{\"id\":\"" + id + "\",\"productName\":\"Producto " + id + "\"}")
+                .collect(Collectors.toList()), StandardCharsets.UTF_8);
+
+        // Act
+        CatalogImporter.Result result = catalogImporter.importFile(file);
+
+        // Assert
+        assertEquals(new CatalogImporter.Result(25, 0), result);
+        assertEquals(13, committed.size());
+        assertEquals(ids, committed.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Debería contar los registros NDJSON rechazados sin detener la importación")
+    void shouldCountRejectedNdjsonRecords() throws IOException {
+        // Arrange
+        stubIngest();
+        Path file = tempDir.resolve("catalogo.ndjson");
+        Files.writeString(file, """
+                {"id":"p1","productName":"Laptop"}
+                {"id":"p2",
+
+                {"id":"p3"}
+                {"id":"p4","productName":"Mouse"}
+                """, StandardCharsets.UTF_8);
+
+        // Act
+        CatalogImporter.Result result = catalogImporter.importFile(file);
+
+        // Assert
+        assertEquals(new CatalogImporter.Result(2, 2), result);
+        assertEquals(List.of("p1", "p3", "p4"), committed.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Debería contar los registros CSV rechazados sin detener la importación")
+    void shouldCountRejectedCsvRecords() throws IOException {
+        // Arrange
+        stubIngest();
+        Path file = tempDir.resolve("catalogo.csv");
+        Files.writeString(file, """
+                \uFEFFprice,id,productName
+                10.5,p1,Laptop
+                abc,p2,Tablet
+                20,p3,
+                30,p4,"Mouse
+                inalámbrico"
+                """, StandardCharsets.UTF_8);
+
+        // Act
+        CatalogImporter.Result result = catalogImporter.importFile(file);
+
+        // Assert
+        assertEquals(new CatalogImporter.Result(2, 2), result);
+        assertEquals(List.of("p1", "p3", "p4"), committed.stream().flatMap(List::stream).toList());
+    }
+}
@@ -0,0 +1,58 @@
+package co.com.ml.transfer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CatalogTransferRunner")
+class CatalogTransferRunnerTest {
+
+    @Mock
+    private CatalogImporter importer;
+
+    @Mock
+    private CatalogExporter exporter;
+
+    @Test
+    @DisplayName("Debería importar y luego exportar los archivos configurados")
+    void shouldImportThenExportConfiguredFiles() throws IOException {
+        // Arrange
+        CatalogTransferProperties properties = new CatalogTransferProperties();
+        properties.setImportFile("entrada.csv");
+        properties.setExportFile("salida.ndjson");
+        when(importer.importFile(Path.of("entrada.csv"))).thenReturn(new CatalogImporter.Result(3, 1));
+        when(exporter.exportFile(Path.of("salida.ndjson"))).thenReturn(3L);
+
+        // Act
+        new CatalogTransferRunner(properties, importer, exporter).run(new DefaultApplicationArguments());
+
+        // Assert
+        InOrder inOrder = inOrder(importer, exporter);
+        inOrder.verify(importer).importFile(Path.of("entrada.csv"));
+        inOrder.verify(exporter).exportFile(Path.of("salida.ndjson"));
+    }
+
+    @Test
+    @DisplayName("No debería hacer nada si no hay archivos configurados")
+    void shouldDoNothingWithoutConfiguredFiles() throws IOException {
+        // Arrange
+        CatalogTransferProperties properties = new CatalogTransferProperties();
+        properties.setImportFile(" ");
+
+        // Act
+        new CatalogTransferRunner(properties, importer, exporter).run(new DefaultApplicationArguments());
+
+        // Assert
+        verifyNoInteractions(importer, exporter);
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.ml.model.product;
+
+import co.com.ml.model.exceptions.ProductValidationException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Codificación de los cursores de paginación del listado de productos.
+ * Cada repositorio define qué posición representa el cursor (fila, posición en archivo, secuencia);
+ * hacia afuera el cursor es un texto opaco.
+ */
+public final class PageCursor {
+
+    private static final String INVALID_CURSOR = "El cursor de paginación no es válido";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Codifica una posición como cursor opaco.
+     *
+     * @param position la posición del siguiente producto a listar, no negativa
+     * @return el cursor
+     */
+    public static String encode(long position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(position).array());
+    }
+
+    /**
+     * Decodifica un cursor; un cursor nulo o vacío corresponde al inicio del listado.
+     *
+     * @param cursor el cursor recibido
+     * @return la posición del siguiente producto a listar
+     * @throws ProductValidationException si el cursor no fue generado por {@link #encode(long)}
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ProductValidationException(INVALID_CURSOR, e);
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new ProductValidationException(INVALID_CURSOR);
+        }
+        long position = ByteBuffer.wrap(bytes).getLong();
+        if (position < 0) {
+            throw new ProductValidationException(INVALID_CURSOR);
+        }
+        return position;
+    }
+
+    /**
+     * Retorna la excepción que se lanza cuando un cursor bien formado no corresponde a una posición válida.
+     */
+    public static ProductValidationException invalid() {
+        return new ProductValidationException(INVALID_CURSOR);
+    }
+}
@@ -0,0 +1,23 @@
+package co.com.ml.model.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una comparación de productos con sus atributos alineados.
+ * Cada atributo de las especificaciones se asocia con la lista de sus valores en el mismo orden
+ * de {@code products}, con nulo para los productos que no lo tienen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductComparison {
+    private List<Product> products;
+    private Map<String, List<String>> attributes;
+}
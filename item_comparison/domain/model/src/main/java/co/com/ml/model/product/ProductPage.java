@@ -0,0 +1,21 @@
+package co.com.ml.model.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del listado de productos, en orden de inserción.
+ * Incluye el cursor opaco con el que se solicita la página siguiente, nulo cuando no hay más productos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductPage {
+    private List<Product> products;
+    private String nextCursor;
+}
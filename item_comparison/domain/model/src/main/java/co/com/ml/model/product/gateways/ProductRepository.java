@@ -1,8 +1,12 @@
 package co.com.ml.model.product.gateways;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import co.com.ml.model.product.PageCursor;
 import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
 
 public interface ProductRepository {
     
@@ -13,16 +17,117 @@ public interface ProductRepository {
      */
     Product addProduct(Product product);
     
+    /**
+     * Agrega varios productos en una sola escritura del almacenamiento cuando el adaptador lo permite.
+     * Por defecto los agrega uno a uno con {@link #addProduct(Product)}.
+     * @param products los productos a agregar, en orden
+     * @return los productos agregados
+     */
+    default List<Product> addProducts(List<Product> products) {
+        List<Product> added = new ArrayList<>(products.size());
+        for (Product product : products) {
+            added.add(addProduct(product));
+        }
+        return added;
+    }
+
     /**
      * Obtiene todos los productos del repositorio
      * @return lista de todos los productos
      */
     List<Product> listAllProducts();
     
+    /**
+     * Recorre todos los productos en orden de inserción entregándolos uno a uno, sin construir el listado
+     * completo cuando el adaptador puede evitarlo. Por defecto recorre {@link #listAllProducts()}.
+     * @param consumer receptor de cada producto
+     */
+    default void forEachProduct(Consumer<Product> consumer) {
+        listAllProducts().forEach(consumer);
+    }
+
+    /**
+     * Obtiene una página del listado de productos en orden de inserción, a partir del cursor indicado.
+     * El cursor es opaco (ver {@link PageCursor}); cada adaptador lo interpreta como una posición de su
+     * propio índice ordenado para ubicar la página sin recorrer los productos anteriores. Por defecto
+     * lo interpreta como la posición en el listado completo.
+     * @param cursor cursor de la página, o null para la primera
+     * @param limit cantidad máxima de productos de la página
+     * @return la página y el cursor de la siguiente
+     */
+    default ProductPage listProducts(String cursor, int limit) {
+        List<Product> products = listAllProducts();
+        long position = PageCursor.decode(cursor);
+        if (position > products.size()) {
+            throw PageCursor.invalid();
+        }
+        int from = (int) position;
+        int to = Math.min(products.size(), from + limit);
+        return ProductPage.builder()
+                .products(new ArrayList<>(products.subList(from, to)))
+                .nextCursor(to < products.size() ? PageCursor.encode(to) : null)
+                .build();
+    }
+
+    /**
+     * Versión del catálogo: un número que crece con cada producto agregado y nunca disminuye, de modo que
+     * dos lecturas con la misma versión ven el mismo catálogo. Se consulta en cada solicitud para validar
+     * cachés, por lo que cada adaptador debe obtenerla sin cargar el catálogo: de su estado en memoria o
+     * con una consulta puntual al almacenamiento.
+     * @return la versión actual del catálogo
+     */
+    long catalogVersion();
+
+    /**
+     * Indica si otras instancias escriben en el mismo almacenamiento. En ese caso pueden aparecer productos
+     * que no se agregaron a través de esta instancia, y las estructuras en memoria que solo se actualizan
+     * con las escrituras propias no son confiables. Por defecto el almacenamiento es exclusivo.
+     * @return true si el almacenamiento es compartido
+     */
+    default boolean isSharedStore() {
+        return false;
+    }
+
     /**
      * Obtiene los productos correspondientes a los IDs proporcionados
      * @param productIds lista de IDs de productos a recuperar/validar
      * @return lista de productos encontrados para dichos IDs
      */
     List<Product> compareProducts(List<String> productIds);
+
+    /**
+     * Obtiene una página de los productos cuyo precio y calificación están dentro de los rangos indicados,
+     * en orden de inserción. Los límites nulos no filtran; un producto sin precio o sin calificación solo se
+     * incluye si no se filtra por ese campo. El cursor se interpreta como en {@link #listProducts(String, int)}
+     * y el de la página siguiente apunta al primer producto que cumple después de la página, por lo que es
+     * null cuando no quedan más. Por defecto filtra el listado completo; los adaptadores pueden resolverlo
+     * con una estructura propia.
+     * @param minPrice precio mínimo, inclusivo
+     * @param maxPrice precio máximo, inclusivo
+     * @param minRating calificación mínima, inclusiva
+     * @param cursor cursor de la página, o null para la primera
+     * @param limit cantidad máxima de productos de la página
+     * @return la página y el cursor de la siguiente
+     */
+    default ProductPage findProductsInRange(Double minPrice, Double maxPrice, Double minRating,
+                                            String cursor, int limit) {
+        List<Product> products = listAllProducts();
+        long position = PageCursor.decode(cursor);
+        if (position > products.size()) {
+            throw PageCursor.invalid();
+        }
+        List<Product> page = new ArrayList<>(limit);
+        for (int row = (int) position; row < products.size(); row++) {
+            Product product = products.get(row);
+            if ((minPrice == null || (product.getPrice() != null && product.getPrice() >= minPrice))
+                    && (maxPrice == null || (product.getPrice() != null && product.getPrice() <= maxPrice))
+                    && (minRating == null || (product.getRating() != null && product.getRating() >= minRating))) {
+                if (page.size() == limit) {
+                    return ProductPage.builder().products(page).nextCursor(PageCursor.encode(row)).build();
+                }
+                page.add(product);
+            }
+        }
+        return ProductPage.builder().products(page).build();
+    }
 }
@@ -0,0 +1,37 @@
+package co.com.ml.model.product;
+
+import co.com.ml.model.exceptions.ProductValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para la clase PageCursor")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Debería recuperar la posición codificada en el cursor")
+    void shouldDecodeEncodedPosition() {
+        // Act
+        String cursor = PageCursor.encode(1L << 40 | 17);
+
+        // Assert
+        assertEquals(1L << 40 | 17, PageCursor.decode(cursor));
+    }
+
+    @Test
+    @DisplayName("Debería interpretar un cursor nulo o vacío como el inicio del listado")
+    void shouldTreatMissingCursorAsStart() {
+        // Act & Assert
+        assertEquals(0, PageCursor.decode(null));
+        assertEquals(0, PageCursor.decode(" "));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar cursores mal formados")
+    void shouldRejectMalformedCursors() {
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> PageCursor.decode("no es un cursor"));
+        assertThrows(ProductValidationException.class, () -> PageCursor.decode("AAAA"));
+        assertThrows(ProductValidationException.class, () -> PageCursor.decode(PageCursor.encode(-1)));
+    }
+}
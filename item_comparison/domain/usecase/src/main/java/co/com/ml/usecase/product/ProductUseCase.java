@@ -1,20 +1,96 @@
 package co.com.ml.usecase.product;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import co.com.ml.model.exceptions.ProductNotFoundException;
 import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductComparison;
+import co.com.ml.model.product.ProductPage;
 import co.com.ml.model.product.gateways.ProductRepository;
+import co.com.ml.usecase.product.cache.ComparisonCache;
+import co.com.ml.usecase.product.index.ProductAttributeStore;
+import co.com.ml.usecase.product.index.ProductIdFilter;
+import co.com.ml.usecase.product.index.ProductNameAutocomplete;
+import co.com.ml.usecase.product.index.ProductSearchIndex;
+import co.com.ml.usecase.product.index.ProductTrigramIndex;
 
 import lombok.RequiredArgsConstructor;
 
 /**
  * Caso de uso para la gestión de productos.
  * Implementa la lógica de negocio para operaciones con productos.
+ * <p>
+ * Mantiene índices en memoria sobre el catálogo que se actualizan con cada producto agregado. Los índices
+ * se usan solo después de {@link #initializeIndexes()}; antes de eso las operaciones se delegan
+ * directamente al repositorio. Los índices de búsqueda guardan solo IDs; los productos de cada resultado
+ * se obtienen del repositorio con {@link ProductRepository#compareProducts(List)}.
+ * <p>
+ * Los resultados de comparación se conservan en una {@link ComparisonCache}; agregar un producto descarta
+ * las comparaciones que incluyen su ID.
+ * <p>
+ * Si el almacenamiento es compartido con otras instancias ({@link ProductRepository#isSharedStore()}), el
+ * filtro de IDs no ve los productos agregados por ellas, por lo que no se usa para descartar IDs, y la caché
+ * de comparaciones se vacía cada vez que cambia la versión del catálogo.
  */
 @RequiredArgsConstructor
 public class ProductUseCase {
 
+    private static final int EXPECTED_PRODUCT_IDS = 100_000;
+    private static final double ID_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_PRODUCTS_TO_COMPARE = 2;
+    private static final int COMPARISON_CACHE_SIZE = 10_000;
+
     private final ProductRepository productRepository;
+    private final ProductIdFilter idFilter = new ProductIdFilter(EXPECTED_PRODUCT_IDS, ID_FILTER_FALSE_POSITIVE_RATE);
+    private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+    private final ProductNameAutocomplete nameAutocomplete = new ProductNameAutocomplete();
+    private final ProductTrigramIndex trigramIndex = new ProductTrigramIndex();
+    private final ProductAttributeStore attributeStore = new ProductAttributeStore();
+    private final ComparisonCache comparisonCache = new ComparisonCache(COMPARISON_CACHE_SIZE);
+    private volatile boolean indexesReady;
+    private volatile long comparisonCacheVersion = -1;
+
+    /**
+     * Construye los índices en memoria a partir del catálogo actual y los habilita. Si ya están
+     * construidos no hace nada. Los productos agregados mientras se construyen quedan registrados
+     * por {@link #addProduct(Product)}.
+     */
+    public synchronized void initializeIndexes() {
+        if (indexesReady) {
+            return;
+        }
+        productRepository.forEachProduct(product -> {
+            idFilter.put(product.getId());
+            index(product);
+        });
+        indexesReady = true;
+    }
+
+    /**
+     * Filtro de Bloom con los IDs de productos conocidos.
+     *
+     * @return el filtro de IDs
+     */
+    public ProductIdFilter getIdFilter() {
+        return idFilter;
+    }
+
+    /**
+     * Caché de resultados de comparación.
+     *
+     * @return la caché de comparaciones
+     */
+    public ComparisonCache getComparisonCache() {
+        return comparisonCache;
+    }
 
     /**
      * Agrega un nuevo producto al sistema.
@@ -24,7 +100,47 @@ public class ProductUseCase {
      * @throws IllegalArgumentException si el producto es nulo o inválido
      */
     public Product addProduct(Product product) {
-        return productRepository.addProduct(product);
+        // el ID se registra antes de persistir para que el filtro nunca dé un falso negativo
+        if (product != null) {
+            idFilter.put(product.getId());
+        }
+        Product savedProduct = productRepository.addProduct(product);
+        if (savedProduct != null) {
+            index(savedProduct);
+            comparisonCache.invalidate(savedProduct.getId());
+        }
+        return savedProduct;
+    }
+
+    /**
+     * Agrega varios productos en una sola escritura del repositorio.
+     *
+     * @param products los productos a agregar, con ID asignado
+     * @return los productos agregados
+     */
+    public List<Product> addProducts(List<Product> products) {
+        // igual que en addProduct, los IDs se registran antes de persistir
+        products.forEach(product -> idFilter.put(product.getId()));
+        List<Product> savedProducts = productRepository.addProducts(products);
+        for (Product savedProduct : savedProducts) {
+            index(savedProduct);
+            comparisonCache.invalidate(savedProduct.getId());
+        }
+        return savedProducts;
+    }
+
+    /**
+     * Indica cuáles de los IDs ya pertenecen a un producto guardado, con una sola consulta al repositorio.
+     *
+     * @param productIds IDs a buscar
+     * @return los IDs que ya existen
+     */
+    public Set<String> findExistingIds(List<String> productIds) {
+        Set<String> existing = new HashSet<>();
+        for (Product product : productRepository.compareProducts(productIds)) {
+            existing.add(product.getId());
+        }
+        return existing;
     }
 
     /**
@@ -37,12 +153,261 @@ public class ProductUseCase {
     }
 
     /**
-     * Obtiene productos por sus IDs para comparación
+     * Recorre todos los productos en orden de inserción entregándolos uno a uno.
+     *
+     * @param consumer receptor de cada producto
+     */
+    public void forEachProduct(Consumer<Product> consumer) {
+        productRepository.forEachProduct(consumer);
+    }
+
+    /**
+     * Versión actual del catálogo; cambia cada vez que se agrega un producto.
+     *
+     * @return la versión del catálogo
+     */
+    public long catalogVersion() {
+        return productRepository.catalogVersion();
+    }
+
+    /**
+     * Obtiene una página del listado de productos en orden de inserción.
+     *
+     * @param cursor cursor opaco de la página, o null para la primera
+     * @param limit cantidad máxima de productos de la página
+     * @return la página y el cursor de la siguiente
+     */
+    public ProductPage listProducts(String cursor, int limit) {
+        return productRepository.listProducts(cursor, limit);
+    }
+
+    /**
+     * Obtiene productos por sus IDs para comparación.
+     * Con los índices habilitados y un almacenamiento exclusivo, los IDs que con certeza no existen se
+     * descartan antes de consultar el repositorio; si por ello no quedan suficientes IDs para comparar, se
+     * rechaza la solicitud sin consultarlo. Los resultados se responden desde la caché de comparaciones
+     * cuando es posible.
      * @param productIds lista de IDs
      * @return lista de productos correspondientes
+     * @throws ProductNotFoundException si se descartaron IDs inexistentes y quedan menos de dos
      */
     public List<Product> compareProducts(List<String> productIds) {
-        return productRepository.compareProducts(productIds);
+        if (productIds == null) {
+            return productRepository.compareProducts(null);
+        }
+        ComparisonCache comparisons = currentComparisonCache();
+        if (!idFilterUsable()) {
+            return comparisons.get(productIds, productRepository::compareProducts);
+        }
+        List<String> candidates = new ArrayList<>(productIds.size());
+        String firstMissing = null;
+        for (String productId : productIds) {
+            if (idFilter.mightContain(productId)) {
+                candidates.add(productId);
+            } else if (firstMissing == null && productId != null && !productId.isBlank()) {
+                firstMissing = productId;
+            }
+        }
+        if (firstMissing == null) {
+            return comparisons.get(productIds, productRepository::compareProducts);
+        }
+        if (candidates.stream().distinct().count() < MIN_PRODUCTS_TO_COMPARE) {
+            throw ProductNotFoundException.forProductId(firstMissing);
+        }
+        return comparisons.get(candidates, productRepository::compareProducts);
+    }
+
+    /**
+     * Obtiene los productos de varias comparaciones a la vez. Cada grupo se responde desde la caché de
+     * comparaciones cuando es posible; la primera comparación que no está en caché carga con una sola
+     * consulta al repositorio la unión de los IDs pendientes de ese grupo y los siguientes, y las demás
+     * se arman a partir de esa carga.
+     * <p>
+     * Con los índices habilitados y un almacenamiento exclusivo, los IDs que con certeza no existen se
+     * descartan antes de consultar. A diferencia de {@link #compareProducts(List)}, un grupo sin suficientes
+     * productos no falla: su lista queda con los productos encontrados para que quien llama lo informe por
+     * grupo.
+     * @param groups grupos de IDs a comparar
+     * @return los productos encontrados de cada grupo, en el orden de los grupos y de sus IDs
+     */
+    public List<List<Product>> compareProductGroups(List<List<String>> groups) {
+        ComparisonCache comparisons = currentComparisonCache();
+        List<List<String>> candidates = groups.stream().map(this::comparisonCandidates).toList();
+        Map<String, Product> loaded = new HashMap<>();
+        Set<String> resolved = new HashSet<>();
+        List<List<Product>> results = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            List<String> group = candidates.get(i);
+            if (group.isEmpty()) {
+                results.add(List.of());
+                continue;
+            }
+            List<List<String>> pending = candidates.subList(i, candidates.size());
+            results.add(comparisons.get(group, productIds -> {
+                loadUnion(pending, resolved, loaded);
+                return new LinkedHashSet<>(productIds).stream()
+                        .map(loaded::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+            }));
+        }
+        return results;
     }
-}
 
+    /**
+     * Obtiene una página de los productos dentro de un rango de precio y con una calificación mínima.
+     * @param minPrice precio mínimo, inclusivo (opcional)
+     * @param maxPrice precio máximo, inclusivo (opcional)
+     * @param minRating calificación mínima, inclusiva (opcional)
+     * @param cursor cursor opaco de la página, o null para la primera
+     * @param limit cantidad máxima de productos de la página
+     * @return la página y el cursor de la siguiente
+     */
+    public ProductPage findProductsInRange(Double minPrice, Double maxPrice, Double minRating,
+                                           String cursor, int limit) {
+        return productRepository.findProductsInRange(minPrice, maxPrice, minRating, cursor, limit);
+    }
+
+    /**
+     * Obtiene productos por sus IDs para comparación junto con sus atributos alineados en columnas.
+     * Los atributos se toman de las especificaciones leídas al registrar cada producto.
+     * @param productIds lista de IDs
+     * @return los productos encontrados y sus atributos alineados
+     */
+    public ProductComparison compareProductsWithAttributes(List<String> productIds) {
+        List<Product> products = compareProducts(productIds);
+        return ProductComparison.builder()
+                .products(products)
+                .attributes(attributeStore.alignedAttributes(products))
+                .build();
+    }
+
+    /**
+     * Busca productos por texto en su nombre y descripción, ordenados por relevancia.
+     * Si los índices aún no están construidos, se construyen antes de responder.
+     * @param query texto a buscar
+     * @param page número de página, desde 0
+     * @param size cantidad de resultados por página
+     * @return los productos de la página solicitada
+     */
+    public List<Product> searchProducts(String query, int page, int size) {
+        ensureIndexes();
+        return resolve(searchIndex.search(query, page, size));
+    }
+
+    /**
+     * Sugiere nombres de productos que comienzan con el prefijo, ordenados por calificación.
+     * Si los índices aún no están construidos, se construyen antes de responder.
+     * @param prefix prefijo a completar
+     * @param limit cantidad máxima de sugerencias
+     * @return los nombres sugeridos
+     */
+    public List<String> autocompleteProductNames(String prefix, int limit) {
+        ensureIndexes();
+        return nameAutocomplete.complete(prefix, limit);
+    }
+
+    /**
+     * Busca productos cuyo nombre es similar al texto, tolerando errores de escritura.
+     * Si los índices aún no están construidos, se construyen antes de responder.
+     * @param query texto a buscar
+     * @param threshold similitud mínima entre 0 y 1
+     * @param limit cantidad máxima de resultados
+     * @return los productos ordenados por similitud
+     */
+    public List<Product> fuzzySearchProducts(String query, double threshold, int limit) {
+        ensureIndexes();
+        return resolve(trigramIndex.search(query, threshold, limit));
+    }
+
+    /**
+     * Construye los índices si aún no lo están. Una vez construidos solo lee {@code indexesReady}, sin tomar
+     * el candado de {@link #initializeIndexes()}.
+     */
+    private void ensureIndexes() {
+        if (!indexesReady) {
+            initializeIndexes();
+        }
+    }
+
+    /**
+     * Registra un producto persistido en los índices de búsqueda.
+     */
+    private void index(Product product) {
+        searchIndex.add(product);
+        nameAutocomplete.add(product);
+        trigramIndex.add(product);
+        attributeStore.add(product);
+    }
+
+    /**
+     * Obtiene del repositorio los productos de los IDs de un resultado de búsqueda, en el orden del resultado.
+     */
+    private List<Product> resolve(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Product> found = new HashMap<>();
+        for (Product product : productRepository.compareProducts(productIds)) {
+            found.putIfAbsent(product.getId(), product);
+        }
+        return productIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<String> comparisonCandidates(List<String> group) {
+        if (group == null) {
+            return List.of();
+        }
+        if (!idFilterUsable()) {
+            return group;
+        }
+        return group.stream().filter(idFilter::mightContain).toList();
+    }
+
+    /**
+     * El filtro de IDs solo descarta IDs con certeza si está construido y todas las escrituras pasan por esta
+     * instancia.
+     */
+    private boolean idFilterUsable() {
+        return indexesReady && !productRepository.isSharedStore();
+    }
+
+    /**
+     * Retorna la caché de comparaciones, vaciándola antes si el almacenamiento es compartido y la versión del
+     * catálogo cambió desde la última consulta: otra instancia pudo agregar un producto que no se invalidó.
+     */
+    private ComparisonCache currentComparisonCache() {
+        if (productRepository.isSharedStore()) {
+            long version = productRepository.catalogVersion();
+            if (version != comparisonCacheVersion) {
+                comparisonCache.invalidateAll();
+                comparisonCacheVersion = version;
+            }
+        }
+        return comparisonCache;
+    }
+
+    /**
+     * Carga en una sola consulta los IDs de los grupos indicados que aún no se han consultado.
+     */
+    private void loadUnion(List<List<String>> groups, Set<String> resolved, Map<String, Product> loaded) {
+        Set<String> union = new LinkedHashSet<>();
+        for (List<String> group : groups) {
+            for (String productId : group) {
+                if (productId != null && !resolved.contains(productId)) {
+                    union.add(productId);
+                }
+            }
+        }
+        if (union.isEmpty()) {
+            return;
+        }
+        for (Product product : productRepository.compareProducts(new ArrayList<>(union))) {
+            loaded.putIfAbsent(product.getId(), product);
+        }
+        resolved.addAll(union);
+    }
+}
@@ -0,0 +1,229 @@
+package co.com.ml.usecase.product.cache;
+
+import co.com.ml.model.product.Product;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Caché acotada de resultados de comparación, indexada por el conjunto normalizado de IDs (sin nulos,
+ * sin repetidos y ordenado), de modo que {@code a,b} y {@code b,a,b} comparten entrada.
+ * <p>
+ * Aplica la política W-TinyLFU: las entradas nuevas pasan por una ventana LRU pequeña y, al salir de
+ * ella, solo se admiten en la región principal si su frecuencia estimada supera a la de la víctima que
+ * desplazarían; así una ráfaga de comparaciones únicas no expulsa a las comparaciones populares.
+ * La región principal es un LRU segmentado: las entradas admitidas entran a prueba y pasan a la zona
+ * protegida en su segundo acceso.
+ * <p>
+ * Un índice inverso de IDs a entradas permite invalidar exactamente las comparaciones que incluyen
+ * un producto modificado. Admite accesos concurrentes; los productos se cargan fuera del candado.
+ */
+public class ComparisonCache {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final int windowMax;
+    private final int mainMax;
+    private final int protectedMax;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<List<String>, Map<String, Product>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<List<String>, Map<String, Product>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<List<String>, Map<String, Product>> protectedEntries =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<List<String>>> keysByProductId = new HashMap<>();
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity cantidad máxima de comparaciones conservadas
+     */
+    public ComparisonCache(int capacity) {
+        int maximum = Math.max(2, capacity);
+        this.windowMax = Math.max(1, (int) (maximum * WINDOW_RATIO));
+        this.mainMax = maximum - windowMax;
+        this.protectedMax = (int) (mainMax * PROTECTED_RATIO);
+        this.sketch = new FrequencySketch(maximum);
+    }
+
+    /**
+     * Retorna los productos de la comparación en el orden de los IDs solicitados, cargándolos con
+     * {@code loader} solo si la comparación no está en la caché. Si un producto involucrado cambia
+     * mientras se carga, el resultado se entrega pero no se conserva.
+     *
+     * @param productIds IDs solicitados
+     * @param loader carga los productos de los IDs indicados
+     * @return los productos encontrados, en el orden solicitado
+     */
+    public List<Product> get(List<String> productIds, Function<List<String>, List<Product>> loader) {
+        Set<String> requested = new LinkedHashSet<>(productIds);
+        requested.remove(null);
+        List<String> key = requested.stream().sorted().toList();
+
+        Map<String, Product> found;
+        long loadGeneration;
+        synchronized (this) {
+            sketch.increment(key);
+            found = lookup(key);
+            if (found != null) {
+                hits++;
+                return arrange(requested, found);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        List<Product> loaded = loader.apply(productIds);
+        found = new HashMap<>();
+        for (Product product : loaded) {
+            found.putIfAbsent(product.getId(), product);
+        }
+        synchronized (this) {
+            if (loadGeneration == generation && !contains(key)) {
+                insert(key, found);
+            }
+        }
+        return arrange(requested, found);
+    }
+
+    /**
+     * Descarta las comparaciones que incluyen el producto.
+     *
+     * @param productId ID del producto modificado
+     */
+    public synchronized void invalidate(String productId) {
+        generation++;
+        Set<List<String>> keys = keysByProductId.remove(productId);
+        if (keys == null) {
+            return;
+        }
+        for (List<String> key : keys) {
+            if (window.remove(key) == null && probation.remove(key) == null) {
+                protectedEntries.remove(key);
+            }
+            for (String member : key) {
+                unlink(key, member);
+            }
+        }
+    }
+
+    /**
+     * Descarta todas las comparaciones, incluidas las que se están cargando.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        window.clear();
+        probation.clear();
+        protectedEntries.clear();
+        keysByProductId.clear();
+    }
+
+    /**
+     * Cantidad de comparaciones conservadas.
+     */
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedEntries.size();
+    }
+
+    /**
+     * Proporción de consultas respondidas desde la caché.
+     */
+    public synchronized double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    /**
+     * Cantidad de comparaciones descartadas por falta de espacio, incluidas las no admitidas.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    private Map<String, Product> lookup(List<String> key) {
+        Map<String, Product> found = window.get(key);
+        if (found != null) {
+            return found;
+        }
+        found = protectedEntries.get(key);
+        if (found != null) {
+            return found;
+        }
+        found = probation.remove(key);
+        if (found != null) {
+            protectedEntries.put(key, found);
+            if (protectedEntries.size() > protectedMax) {
+                Map.Entry<List<String>, Map<String, Product>> demoted = eldest(protectedEntries);
+                protectedEntries.remove(demoted.getKey());
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+        return found;
+    }
+
+    private boolean contains(List<String> key) {
+        return window.containsKey(key) || probation.containsKey(key) || protectedEntries.containsKey(key);
+    }
+
+    private void insert(List<String> key, Map<String, Product> found) {
+        window.put(key, found);
+        for (String productId : key) {
+            keysByProductId.computeIfAbsent(productId, id -> new HashSet<>()).add(key);
+        }
+        if (window.size() <= windowMax) {
+            return;
+        }
+        Map.Entry<List<String>, Map<String, Product>> candidate = eldest(window);
+        window.remove(candidate.getKey());
+        if (probation.size() + protectedEntries.size() < mainMax) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        Map<List<String>, Map<String, Product>> victimRegion = probation.isEmpty() ? protectedEntries : probation;
+        List<String> victim = eldest(victimRegion).getKey();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            victimRegion.remove(victim);
+            evict(victim);
+            probation.put(candidate.getKey(), candidate.getValue());
+        } else {
+            evict(candidate.getKey());
+        }
+    }
+
+    private void evict(List<String> key) {
+        evictions++;
+        for (String productId : key) {
+            unlink(key, productId);
+        }
+    }
+
+    private void unlink(List<String> key, String productId) {
+        Set<List<String>> keys = keysByProductId.get(productId);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByProductId.remove(productId);
+        }
+    }
+
+    private static List<Product> arrange(Set<String> requested, Map<String, Product> found) {
+        List<Product> products = new ArrayList<>(requested.size());
+        for (String productId : requested) {
+            Product product = found.get(productId);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private static <K, V> Map.Entry<K, V> eldest(Map<K, V> map) {
+        return map.entrySet().iterator().next();
+    }
+}
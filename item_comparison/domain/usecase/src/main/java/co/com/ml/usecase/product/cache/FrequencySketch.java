@@ -0,0 +1,77 @@
+package co.com.ml.usecase.product.cache;
+
+/**
+ * Estimador aproximado de la frecuencia reciente de las claves (Count-Min Sketch de 4 filas).
+ * Cada contador se satura en 15 y, cada cierta cantidad de incrementos, todos se reducen a la mitad
+ * para que la frecuencia refleje la popularidad reciente y no la histórica. No es seguro para uso
+ * concurrente; {@link ComparisonCache} lo usa bajo su propio candado.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int WIDTH_PER_KEY = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param capacity cantidad de claves que conserva la caché; cada fila tiene al menos cuatro contadores
+     *                 por clave para limitar las colisiones
+     */
+    FrequencySketch(int capacity) {
+        int width = Integer.highestOneBit(Math.max(16, WIDTH_PER_KEY * capacity) - 1) << 1;
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    /**
+     * Registra un acceso a la clave.
+     */
+    void increment(Object key) {
+        int hash = key.hashCode();
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Frecuencia estimada de la clave; nunca es menor a la real, salvo por el envejecimiento.
+     */
+    int frequency(Object key) {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[row][index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private void reset() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        additions /= 2;
+    }
+}
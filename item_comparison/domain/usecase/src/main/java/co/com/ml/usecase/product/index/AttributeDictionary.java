@@ -0,0 +1,56 @@
+package co.com.ml.usecase.product.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Diccionario compartido que asigna un código entero a cada texto distinto, de modo que los nombres y
+ * valores de atributos repetidos en el catálogo se guardan una sola vez.
+ */
+final class AttributeDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] values = new String[16];
+    private int size;
+
+    /**
+     * Retorna el código del texto, registrándolo si es nuevo.
+     *
+     * @param value el texto, puede ser nulo
+     * @return su código, o {@link #NULL_CODE} si es nulo
+     */
+    synchronized int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        codes.put(value, size);
+        values = current;
+        return size++;
+    }
+
+    /**
+     * Retorna el texto de un código previamente asignado.
+     */
+    String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * Cantidad de textos distintos registrados.
+     */
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,97 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Atributos estructurados de las especificaciones de cada producto.
+ * Las especificaciones se leen una sola vez al registrar el producto y se guardan como pares de códigos
+ * {@code (nombre, valor)} de un diccionario compartido, por lo que los nombres y valores repetidos entre
+ * productos no se duplican en memoria.
+ */
+public class ProductAttributeStore {
+
+    private final AttributeDictionary dictionary = new AttributeDictionary();
+    private final Map<String, int[]> attributesById = new ConcurrentHashMap<>();
+
+    /**
+     * Lee y registra los atributos de un producto; un ID ya registrado se ignora.
+     *
+     * @param product el producto a registrar
+     */
+    public void add(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        attributesById.computeIfAbsent(product.getId(), id -> encode(product.getSpecifications()));
+    }
+
+    /**
+     * Retorna los atributos de un producto en el orden de sus especificaciones, registrándolos si aún no
+     * se habían leído.
+     *
+     * @param product el producto
+     * @return los atributos por nombre
+     */
+    public Map<String, String> attributesOf(Product product) {
+        add(product);
+        int[] encoded = product == null || product.getId() == null ? null : attributesById.get(product.getId());
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (encoded != null) {
+            for (int i = 0; i < encoded.length; i += 2) {
+                attributes.put(dictionary.decode(encoded[i]), dictionary.decode(encoded[i + 1]));
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Alinea los atributos de varios productos en columnas: cada nombre de atributo, en orden de primera
+     * aparición, se asocia con la lista de sus valores en el mismo orden de los productos, con nulo para
+     * los productos que no lo tienen.
+     *
+     * @param products los productos a alinear
+     * @return los valores de cada atributo por producto
+     */
+    public Map<String, List<String>> alignedAttributes(List<Product> products) {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        for (int row = 0; row < products.size(); row++) {
+            for (Map.Entry<String, String> attribute : attributesOf(products.get(row)).entrySet()) {
+                List<String> column = columns.computeIfAbsent(attribute.getKey(), key -> emptyColumn(products.size()));
+                column.set(row, attribute.getValue());
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Cantidad de textos distintos guardados en el diccionario compartido.
+     */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    private int[] encode(String specifications) {
+        Map<String, String> attributes = SpecificationsParser.parse(specifications);
+        int[] encoded = new int[attributes.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            encoded[i++] = dictionary.encode(attribute.getKey());
+            encoded[i++] = dictionary.encode(attribute.getValue());
+        }
+        return encoded;
+    }
+
+    private static List<String> emptyColumn(int size) {
+        List<String> column = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            column.add(null);
+        }
+        return column;
+    }
+}
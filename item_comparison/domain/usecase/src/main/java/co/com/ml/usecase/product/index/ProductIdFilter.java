@@ -0,0 +1,179 @@
+package co.com.ml.usecase.product.index;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom escalable sobre los IDs de productos conocidos.
+ * Responde sin falsos negativos si un ID puede existir; un resultado negativo garantiza que el ID nunca
+ * se registró. Cuando una etapa alcanza su capacidad se agrega otra del doble de tamaño con una tasa de
+ * falsos positivos más estricta, de modo que la tasa total se mantiene acotada a medida que crece el catálogo.
+ * Admite registros y consultas concurrentes.
+ */
+public class ProductIdFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+    private volatile Stage current;
+
+    /**
+     * @param expectedIds cantidad de IDs de la primera etapa
+     * @param falsePositiveRate tasa de falsos positivos objetivo de la primera etapa
+     */
+    public ProductIdFilter(int expectedIds, double falsePositiveRate) {
+        current = new Stage(Math.max(1, expectedIds), falsePositiveRate);
+        stages.add(current);
+    }
+
+    /**
+     * Registra un ID en el filtro.
+     *
+     * @param productId el ID a registrar
+     */
+    public void put(String productId) {
+        if (productId == null) {
+            return;
+        }
+        long hash = hash(productId);
+        Stage stage = current;
+        if (stage.isFull()) {
+            stage = grow(stage);
+        }
+        stage.put(hash);
+    }
+
+    /**
+     * Indica si el ID pudo haberse registrado.
+     *
+     * @param productId el ID a consultar
+     * @return false solo si el ID con certeza no fue registrado
+     */
+    public boolean mightContain(String productId) {
+        if (productId == null) {
+            return false;
+        }
+        long hash = hash(productId);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estima la tasa de falsos positivos actual a partir de la ocupación de cada etapa.
+     */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1.0;
+        for (Stage stage : stages) {
+            allNegative *= 1.0 - stage.falsePositiveRate();
+        }
+        return 1.0 - allNegative;
+    }
+
+    /**
+     * Memoria ocupada por los bits del filtro, en bytes.
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += (long) stage.words.length() * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        if (current != full) {
+            return current;
+        }
+        Stage next = new Stage(full.capacity * 2, full.targetRate * TIGHTENING_RATIO);
+        stages.add(next);
+        current = next;
+        return next;
+    }
+
+    /**
+     * Hash de 64 bits del ID (FNV-1a sobre los caracteres con mezcla final).
+     */
+    private static long hash(String productId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < productId.length(); i++) {
+            hash ^= productId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+
+    /**
+     * Etapa de tamaño fijo con {@code k} posiciones por ID obtenidas por doble hash.
+     */
+    private static final class Stage {
+
+        private final int capacity;
+        private final double targetRate;
+        private final long bits;
+        private final int hashFunctions;
+        private final AtomicLongArray words;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Stage(int capacity, double targetRate) {
+            this.capacity = capacity;
+            this.targetRate = targetRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(targetRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE));
+            this.bits = (long) words.length() * Long.SIZE;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        }
+
+        private boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        private void put(long hash) {
+            boolean changed = false;
+            long second = mix(hash ^ 0x9e3779b97f4a7c15L);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash + i * second, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long previous = words.getAndUpdate(word, value -> value | mask);
+                changed |= (previous & mask) == 0;
+            }
+            if (changed) {
+                count.incrementAndGet();
+            }
+        }
+
+        private boolean mightContain(long hash) {
+            long second = mix(hash ^ 0x9e3779b97f4a7c15L);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash + i * second, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Tasa estimada con la fórmula {@code (1 - e^(-k n / m))^k}.
+         */
+        private double falsePositiveRate() {
+            return Math.pow(1.0 - Math.exp(-(double) hashFunctions * count.get() / bits), hashFunctions);
+        }
+    }
+}
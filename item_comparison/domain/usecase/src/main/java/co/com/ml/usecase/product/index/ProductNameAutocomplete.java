@@ -0,0 +1,174 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocompletado de nombres de productos sobre un trie de los nombres normalizados.
+ * Cada nodo guarda sus hijos en arreglos ordenados por carácter y mantiene precalculadas las mejores
+ * {@value #MAX_SUGGESTIONS} sugerencias de su subárbol ordenadas por calificación, de modo que una consulta
+ * solo recorre el prefijo y no el subárbol. Los productos con el mismo nombre normalizado comparten una
+ * única sugerencia con la mayor calificación entre ellos.
+ */
+public class ProductNameAutocomplete {
+
+    /**
+     * Cantidad máxima de sugerencias que puede retornar una consulta.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<String, Completion> completions = new HashMap<>();
+
+    /**
+     * Registra el nombre de un producto o actualiza su calificación si el nombre ya existe.
+     *
+     * @param product el producto a registrar
+     */
+    public void add(Product product) {
+        if (product == null) {
+            return;
+        }
+        String key = TextNormalizer.normalize(product.getProductName()).trim();
+        if (key.isEmpty()) {
+            return;
+        }
+        double rating = product.getRating() == null ? 0 : product.getRating();
+        lock.writeLock().lock();
+        try {
+            Completion completion = completions.get(key);
+            if (completion == null) {
+                completion = new Completion(product.getProductName().trim(), rating);
+                completions.put(key, completion);
+            } else if (rating > completion.rating) {
+                completion.rating = rating;
+            } else {
+                return;
+            }
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                node.offer(completion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna los nombres que comienzan con el prefijo, ordenados por calificación descendente.
+     *
+     * @param prefix prefijo a completar; no distingue mayúsculas ni tildes
+     * @param limit cantidad máxima de sugerencias, hasta {@value #MAX_SUGGESTIONS}
+     * @return los nombres sugeridos
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            List<String> names = new ArrayList<>(Math.min(limit, node.topSize));
+            for (int i = 0; i < node.topSize && names.size() < limit; i++) {
+                names.add(node.top[i].name);
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Completion {
+
+        private final String name;
+        private double rating;
+
+        private Completion(String name, double rating) {
+            this.name = name;
+            this.rating = rating;
+        }
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Completion[] top = new Completion[1];
+        private int topSize;
+
+        private Node child(char key) {
+            int position = Arrays.binarySearch(keys, key);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node childOrCreate(char key) {
+            int position = Arrays.binarySearch(keys, key);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertion = -position - 1;
+            char[] nextKeys = new char[keys.length + 1];
+            Node[] nextChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, nextKeys, 0, insertion);
+            System.arraycopy(children, 0, nextChildren, 0, insertion);
+            nextKeys[insertion] = key;
+            nextChildren[insertion] = new Node();
+            System.arraycopy(keys, insertion, nextKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(children, insertion, nextChildren, insertion + 1, children.length - insertion);
+            keys = nextKeys;
+            children = nextChildren;
+            return nextChildren[insertion];
+        }
+
+        /**
+         * Ubica la sugerencia entre las mejores del nodo según su calificación actual; si ya estaba,
+         * se reubica.
+         */
+        private void offer(Completion completion) {
+            int current = -1;
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == completion) {
+                    current = i;
+                    break;
+                }
+            }
+            if (current < 0) {
+                if (topSize == MAX_SUGGESTIONS) {
+                    if (top[topSize - 1].rating >= completion.rating) {
+                        return;
+                    }
+                    topSize--;
+                } else if (topSize == top.length) {
+                    top = Arrays.copyOf(top, Math.min(MAX_SUGGESTIONS, top.length * 2));
+                }
+                current = topSize++;
+                top[current] = completion;
+            }
+            while (current > 0 && top[current - 1].rating < completion.rating) {
+                top[current] = top[current - 1];
+                top[current - 1] = completion;
+                current--;
+            }
+        }
+    }
+}
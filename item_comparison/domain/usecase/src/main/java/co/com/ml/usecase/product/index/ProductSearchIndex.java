@@ -0,0 +1,183 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de texto completo sobre el nombre y la descripción de los productos.
+ * Cada término normalizado apunta a una lista de documentos con su frecuencia en cada campo, y las
+ * búsquedas se ordenan por relevancia con BM25, dando más peso a las coincidencias en el nombre.
+ * Se actualiza de forma incremental con cada producto agregado; un ID ya indexado se ignora. El índice
+ * guarda solo el ID de cada documento, no el producto, para no retener el catálogo completo en memoria.
+ */
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> documentsById = new HashMap<>();
+    private final List<String> documentIds = new ArrayList<>();
+    private int[] nameLengths = new int[16];
+    private int[] descriptionLengths = new int[16];
+    private long totalNameLength;
+    private long totalDescriptionLength;
+
+    /**
+     * Indexa un producto.
+     *
+     * @param product el producto a indexar
+     */
+    public void add(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        List<String> nameTerms = TextNormalizer.tokenize(product.getProductName());
+        List<String> descriptionTerms = TextNormalizer.tokenize(product.getDescription());
+        lock.writeLock().lock();
+        try {
+            if (documentsById.containsKey(product.getId())) {
+                return;
+            }
+            int document = documentIds.size();
+            documentIds.add(product.getId());
+            documentsById.put(product.getId(), document);
+            ensureCapacity(document + 1);
+            nameLengths[document] = nameTerms.size();
+            descriptionLengths[document] = descriptionTerms.size();
+            totalNameLength += nameTerms.size();
+            totalDescriptionLength += descriptionTerms.size();
+            for (String term : nameTerms) {
+                postings.computeIfAbsent(term, key -> new Postings()).add(document, true);
+            }
+            for (String term : descriptionTerms) {
+                postings.computeIfAbsent(term, key -> new Postings()).add(document, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los productos que contienen alguno de los términos de la consulta, ordenados por relevancia.
+     *
+     * @param query texto de la consulta
+     * @param page número de página, desde 0
+     * @param size cantidad de resultados por página
+     * @return los IDs de los productos de la página solicitada
+     */
+    public List<String> search(String query, int page, int size) {
+        Set<String> terms = new LinkedHashSet<>(TextNormalizer.tokenize(query));
+        if (terms.isEmpty() || size <= 0 || page < 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = score(terms);
+            long from = (long) page * size;
+            if (from >= scores.size()) {
+                return Collections.emptyList();
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(from)
+                    .limit(size)
+                    .map(entry -> documentIds.get(entry.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cantidad de productos indexados.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Double> score(Set<String> terms) {
+        int documentCount = documentIds.size();
+        double averageName = documentCount == 0 ? 0 : (double) totalNameLength / documentCount;
+        double averageDescription = documentCount == 0 ? 0 : (double) totalDescriptionLength / documentCount;
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+            for (int i = 0; i < list.size; i++) {
+                int document = list.documents[i];
+                double score = NAME_WEIGHT * bm25(list.nameFrequencies[i], nameLengths[document], averageName)
+                        + DESCRIPTION_WEIGHT * bm25(list.descriptionFrequencies[i],
+                        descriptionLengths[document], averageDescription);
+                scores.merge(document, idf * score, Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private static double bm25(int frequency, int length, double averageLength) {
+        if (frequency == 0) {
+            return 0;
+        }
+        double normalization = averageLength == 0 ? 1 : 1 - B + B * length / averageLength;
+        return frequency * (K1 + 1) / (frequency + K1 * normalization);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > nameLengths.length) {
+            int next = Math.max(capacity, nameLengths.length * 2);
+            nameLengths = Arrays.copyOf(nameLengths, next);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, next);
+        }
+    }
+
+    /**
+     * Lista de documentos de un término en orden de inserción, con la frecuencia del término en cada campo.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int[] nameFrequencies = new int[4];
+        private int[] descriptionFrequencies = new int[4];
+        private int size;
+
+        private void add(int document, boolean inName) {
+            if (size == 0 || documents[size - 1] != document) {
+                if (size == documents.length) {
+                    documents = Arrays.copyOf(documents, size * 2);
+                    nameFrequencies = Arrays.copyOf(nameFrequencies, size * 2);
+                    descriptionFrequencies = Arrays.copyOf(descriptionFrequencies, size * 2);
+                }
+                documents[size] = document;
+                size++;
+            }
+            if (inName) {
+                nameFrequencies[size - 1]++;
+            } else {
+                descriptionFrequencies[size - 1]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de trigramas sobre el nombre de los productos para búsquedas tolerantes a errores de escritura.
+ * Cada palabra normalizada se rellena con dos espacios al inicio y uno al final antes de dividirla en
+ * trigramas, y la similitud entre la consulta y un nombre es el coeficiente de Jaccard de sus conjuntos
+ * de trigramas.
+ * <p>
+ * Para generar candidatos no se recorre el catálogo: un nombre con similitud mayor o igual al umbral debe
+ * compartir al menos {@code m} trigramas con la consulta, por lo que necesariamente aparece en alguna de
+ * las {@code |Q| - m + 1} listas más cortas. Los candidatos de esas listas se verifican luego contra el
+ * resto mediante búsqueda binaria. Como el índice de texto completo, guarda solo el ID de cada documento.
+ */
+public class ProductTrigramIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Set<String> indexedIds = new HashSet<>();
+    private final List<String> documentIds = new ArrayList<>();
+    private final IntList trigramCounts = new IntList();
+
+    /**
+     * Indexa el nombre de un producto; un ID ya indexado se ignora.
+     *
+     * @param product el producto a indexar
+     */
+    public void add(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        Set<String> trigrams = trigrams(product.getProductName());
+        if (trigrams.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!indexedIds.add(product.getId())) {
+                return;
+            }
+            int document = documentIds.size();
+            documentIds.add(product.getId());
+            trigramCounts.add(trigrams.size());
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new IntList()).add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los productos cuyo nombre es similar a la consulta.
+     *
+     * @param query texto a buscar, posiblemente con errores de escritura
+     * @param threshold similitud mínima, entre 0 (exclusivo) y 1
+     * @param limit cantidad máxima de resultados
+     * @return los IDs de los productos ordenados por similitud descendente
+     */
+    public List<String> search(String query, double threshold, int limit) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty() || threshold <= 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int minimumShared = (int) Math.ceil(threshold * queryTrigrams.size());
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>(queryTrigrams.size());
+            for (String trigram : queryTrigrams) {
+                lists.add(postings.getOrDefault(trigram, IntList.EMPTY));
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            int candidateLists = queryTrigrams.size() - minimumShared + 1;
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (int i = 0; i < candidateLists; i++) {
+                IntList list = lists.get(i);
+                for (int j = 0; j < list.size; j++) {
+                    shared.merge(list.values[j], 1, Integer::sum);
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+                int document = candidate.getKey();
+                int count = candidate.getValue();
+                for (int i = candidateLists; i < lists.size(); i++) {
+                    if (lists.get(i).contains(document)) {
+                        count++;
+                    }
+                }
+                double similarity = (double) count / (queryTrigrams.size() + trigramCounts.values[document] - count);
+                if (similarity >= threshold) {
+                    matches.add(new Match(document, similarity));
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingDouble(Match::similarity).reversed()
+                            .thenComparingInt(Match::document))
+                    .limit(limit)
+                    .map(match -> documentIds.get(match.document()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula el conjunto de trigramas de un texto.
+     */
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : TextNormalizer.tokenize(text)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private record Match(int document, double similarity) {
+    }
+
+    /**
+     * Lista creciente de enteros en orden ascendente.
+     */
+    private static final class IntList {
+
+        private static final IntList EMPTY = new IntList();
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
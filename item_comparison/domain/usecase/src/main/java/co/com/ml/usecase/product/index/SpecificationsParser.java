@@ -0,0 +1,160 @@
+package co.com.ml.usecase.product.index;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lector de especificaciones guardadas como un objeto JSON plano, por ejemplo {@code {"ram": "8GB"}}.
+ * Los valores de texto se decodifican; los números, booleanos y valores anidados se conservan con su
+ * texto original. Si el texto no es un objeto JSON válido se considera que no tiene atributos.
+ */
+final class SpecificationsParser {
+
+    private final String text;
+    private int position;
+
+    private SpecificationsParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Lee los atributos de unas especificaciones.
+     *
+     * @param specifications el texto de las especificaciones, puede ser nulo
+     * @return los atributos en orden de aparición, vacío si el texto no es un objeto JSON válido
+     */
+    static Map<String, String> parse(String specifications) {
+        if (specifications == null || specifications.isBlank()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return new SpecificationsParser(specifications).readObject();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private Map<String, String> readObject() {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return finish(attributes);
+        }
+        while (true) {
+            skipWhitespace();
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            attributes.putIfAbsent(key, readValue());
+            skipWhitespace();
+            char separator = text.charAt(position++);
+            if (separator == '}') {
+                return finish(attributes);
+            }
+            if (separator != ',') {
+                throw new IllegalArgumentException("Separador inválido en la posición " + (position - 1));
+            }
+        }
+    }
+
+    private Map<String, String> finish(Map<String, String> attributes) {
+        skipWhitespace();
+        if (position != text.length()) {
+            throw new IllegalArgumentException("Contenido inesperado al final de las especificaciones");
+        }
+        return attributes;
+    }
+
+    private String readValue() {
+        char first = peek();
+        if (first == '"') {
+            return readString();
+        }
+        if (first == '{' || first == '[') {
+            int start = position;
+            skipNested();
+            return text.substring(start, position);
+        }
+        int start = position;
+        while (position < text.length() && ",}".indexOf(text.charAt(position)) < 0
+                && !Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        if (start == position) {
+            throw new IllegalArgumentException("Valor vacío en la posición " + start);
+        }
+        String literal = text.substring(start, position);
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            char current = text.charAt(position++);
+            if (current == '"') {
+                return value.toString();
+            }
+            if (current != '\\') {
+                value.append(current);
+                continue;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                }
+                default -> value.append(escaped);
+            }
+        }
+    }
+
+    private void skipNested() {
+        int depth = 0;
+        boolean inString = false;
+        do {
+            char current = text.charAt(position++);
+            if (inString) {
+                if (current == '\\') {
+                    position++;
+                } else if (current == '"') {
+                    inString = false;
+                }
+            } else if (current == '"') {
+                inString = true;
+            } else if (current == '{' || current == '[') {
+                depth++;
+            } else if (current == '}' || current == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private void expect(char expected) {
+        if (text.charAt(position) != expected) {
+            throw new IllegalArgumentException("Se esperaba '" + expected + "' en la posición " + position);
+        }
+        position++;
+    }
+
+    private char peek() {
+        return text.charAt(position);
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+}
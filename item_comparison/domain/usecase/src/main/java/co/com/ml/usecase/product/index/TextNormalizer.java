@@ -0,0 +1,54 @@
+package co.com.ml.usecase.product.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto compartida por los índices: minúsculas y sin tildes ni diéresis,
+ * de modo que "Cámara" y "camara" producen los mismos términos.
+ */
+final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normaliza un texto completo conservando sus separadores.
+     *
+     * @param text el texto a normalizar, puede ser nulo
+     * @return el texto normalizado, vacío si es nulo
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase();
+    }
+
+    /**
+     * Divide un texto normalizado en términos formados por letras y dígitos.
+     *
+     * @param text el texto a dividir, puede ser nulo
+     * @return los términos en orden de aparición, con repeticiones
+     */
+    static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
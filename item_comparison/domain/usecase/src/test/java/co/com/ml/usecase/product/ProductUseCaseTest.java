@@ -1,6 +1,9 @@
 package co.com.ml.usecase.product;
 
+import co.com.ml.model.exceptions.ProductNotFoundException;
 import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductComparison;
+import co.com.ml.model.product.ProductPage;
 import co.com.ml.model.product.gateways.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +16,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,6 +53,17 @@ class ProductUseCaseTest {
                 .build();
     }
 
+    /**
+     * Hace que el repositorio recorra los productos indicados al construir los índices.
+     */
+    private void stubCatalog(Product... products) {
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            Arrays.asList(products).forEach(consumer);
+            return null;
+        }).when(productRepository).forEachProduct(any());
+    }
+
     @Test
     @DisplayName("Debería agregar un producto válido exitosamente")
     void shouldAddValidProductSuccessfully() {
@@ -354,5 +370,244 @@ class ProductUseCaseTest {
         assertEquals(foundProducts, result);
         verify(productRepository).compareProducts(ids);
     }
-}
 
+    @Test
+    @DisplayName("Debería delegar la búsqueda por rango al repositorio")
+    void shouldDelegateRangeQueryToRepository() {
+        // Arrange
+        ProductPage inRange = ProductPage.builder().products(Collections.singletonList(productWithId)).build();
+        when(productRepository.findProductsInRange(1000.0, 2000.0, 4.0, "cursor", 20)).thenReturn(inRange);
+
+        // Act
+        ProductPage result = productUseCase.findProductsInRange(1000.0, 2000.0, 4.0, "cursor", 20);
+
+        // Assert
+        assertEquals(inRange, result);
+        verify(productRepository).findProductsInRange(1000.0, 2000.0, 4.0, "cursor", 20);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar sin consultar el repositorio cuando los IDs no existen")
+    void shouldRejectUnknownIdsWithoutQueryingRepository() {
+        // Arrange
+        stubCatalog(productWithId);
+        productUseCase.initializeIndexes();
+        List<String> ids = Arrays.asList(productWithId.getId(), "id-inexistente");
+
+        // Act & Assert
+        ProductNotFoundException exception = assertThrows(
+                ProductNotFoundException.class,
+                () -> productUseCase.compareProducts(ids)
+        );
+
+        assertEquals("Producto con ID 'id-inexistente' no encontrado", exception.getMessage());
+        verify(productRepository, never()).compareProducts(any());
+    }
+
+    @Test
+    @DisplayName("Debería descartar los IDs inexistentes antes de consultar el repositorio")
+    void shouldDiscardUnknownIdsBeforeQueryingRepository() {
+        // Arrange
+        Product other = validProduct.toBuilder().id("550e8400-e29b-41d4-a716-446655440002").build();
+        stubCatalog(productWithId, other);
+        productUseCase.initializeIndexes();
+        List<String> expectedIds = Arrays.asList(productWithId.getId(), other.getId());
+        when(productRepository.compareProducts(expectedIds)).thenReturn(Arrays.asList(productWithId, other));
+
+        // Act
+        List<Product> result = productUseCase.compareProducts(
+                Arrays.asList(productWithId.getId(), "id-inexistente", other.getId()));
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(productRepository).compareProducts(expectedIds);
+    }
+
+    @Test
+    @DisplayName("Debería consultar el repositorio sin usar el filtro de IDs cuando el almacenamiento es compartido")
+    void shouldQueryRepositoryWithoutIdFilterWhenStoreIsShared() {
+        // Arrange
+        stubCatalog(productWithId);
+        productUseCase.initializeIndexes();
+        Product insertedElsewhere = validProduct.toBuilder().id("insertado-en-otra-instancia").build();
+        List<String> ids = Arrays.asList(productWithId.getId(), insertedElsewhere.getId());
+        when(productRepository.isSharedStore()).thenReturn(true);
+        when(productRepository.compareProducts(ids)).thenReturn(Arrays.asList(productWithId, insertedElsewhere));
+
+        // Act
+        List<Product> result = productUseCase.compareProducts(ids);
+
+        // Assert
+        assertEquals(Arrays.asList(productWithId, insertedElsewhere), result);
+    }
+
+    @Test
+    @DisplayName("Debería vaciar la caché de comparaciones cuando cambia la versión de un almacenamiento compartido")
+    void shouldDiscardCachedComparisonsWhenSharedStoreVersionChanges() {
+        // Arrange
+        Product other = validProduct.toBuilder().id("550e8400-e29b-41d4-a716-446655440002").build();
+        List<String> ids = Arrays.asList(productWithId.getId(), other.getId());
+        when(productRepository.isSharedStore()).thenReturn(true);
+        when(productRepository.catalogVersion()).thenReturn(1L, 1L, 2L);
+        when(productRepository.compareProducts(ids)).thenReturn(Arrays.asList(productWithId, other));
+
+        // Act
+        productUseCase.compareProducts(ids);
+        productUseCase.compareProducts(ids);
+        productUseCase.compareProducts(ids);
+
+        // Assert
+        verify(productRepository, times(2)).compareProducts(ids);
+    }
+
+    @Test
+    @DisplayName("Debería indicar cuáles IDs ya pertenecen a un producto guardado")
+    void shouldFindExistingIds() {
+        // Arrange
+        List<String> ids = Arrays.asList(productWithId.getId(), "id-nuevo");
+        when(productRepository.compareProducts(ids)).thenReturn(Collections.singletonList(productWithId));
+
+        // Act
+        Set<String> result = productUseCase.findExistingIds(ids);
+
+        // Assert
+        assertEquals(Set.of(productWithId.getId()), result);
+    }
+
+    @Test
+    @DisplayName("Debería buscar productos agregados por texto en el nombre")
+    void shouldSearchAddedProductsByName() {
+        // Arrange
+        stubCatalog();
+        when(productRepository.addProduct(productWithId)).thenReturn(productWithId);
+        productUseCase.addProduct(productWithId);
+        List<String> hits = Collections.singletonList(productWithId.getId());
+        when(productRepository.compareProducts(hits)).thenReturn(Collections.singletonList(productWithId));
+
+        // Act
+        List<Product> result = productUseCase.searchProducts("laptop", 0, 10);
+
+        // Assert
+        assertEquals(Collections.singletonList(productWithId), result);
+        verify(productRepository).forEachProduct(any());
+        verify(productRepository, never()).listAllProducts();
+    }
+
+    @Test
+    @DisplayName("Debería entregar los resultados en el orden del índice aunque el repositorio use otro")
+    void shouldKeepIndexOrderWhenResolvingResults() {
+        // Arrange
+        Product similar = productWithId.toBuilder().id("2").productName("Laptop Gamer").build();
+        stubCatalog(similar, productWithId);
+        List<String> hits = Arrays.asList(productWithId.getId(), similar.getId());
+        when(productRepository.compareProducts(hits)).thenReturn(Arrays.asList(similar, productWithId));
+
+        // Act
+        List<Product> result = productUseCase.fuzzySearchProducts("laptop gaming", 0.3, 5);
+
+        // Assert
+        assertEquals(Arrays.asList(productWithId, similar), result);
+    }
+
+    @Test
+    @DisplayName("Debería construir los índices una sola vez para búsquedas sucesivas")
+    void shouldBuildIndexesOnceForSuccessiveSearches() {
+        // Arrange
+        stubCatalog(productWithId);
+
+        // Act
+        productUseCase.searchProducts("laptop", 0, 10);
+        productUseCase.autocompleteProductNames("lap", 5);
+        productUseCase.fuzzySearchProducts("laptp", 0.3, 5);
+        productUseCase.searchProducts("laptop", 0, 10);
+
+        // Assert
+        verify(productRepository, times(1)).forEachProduct(any());
+    }
+
+    @Test
+    @DisplayName("Debería comparar productos con sus atributos alineados")
+    void shouldCompareProductsWithAlignedAttributes() {
+        // Arrange
+        Product first = productWithId.toBuilder().specifications("{\"ram\": \"16GB\", \"gpu\": \"RTX 3070\"}").build();
+        Product second = productWithId.toBuilder().id("2").specifications("{\"ram\": \"8GB\"}").build();
+        List<String> ids = Arrays.asList(first.getId(), second.getId());
+        when(productRepository.compareProducts(ids)).thenReturn(Arrays.asList(first, second));
+
+        // Act
+        ProductComparison result = productUseCase.compareProductsWithAttributes(ids);
+
+        // Assert
+        assertEquals(Arrays.asList(first, second), result.getProducts());
+        assertEquals(Arrays.asList("16GB", "8GB"), result.getAttributes().get("ram"));
+        assertEquals(Arrays.asList("RTX 3070", null), result.getAttributes().get("gpu"));
+    }
+
+    @Test
+    @DisplayName("Debería delegar la paginación del listado al repositorio")
+    void shouldDelegatePaginationToRepository() {
+        // Arrange
+        ProductPage page = ProductPage.builder()
+                .products(Collections.singletonList(productWithId))
+                .nextCursor("cursor-2")
+                .build();
+        when(productRepository.listProducts("cursor-1", 1)).thenReturn(page);
+
+        // Act
+        ProductPage result = productUseCase.listProducts("cursor-1", 1);
+
+        // Assert
+        assertSame(page, result);
+        verify(productRepository).listProducts("cursor-1", 1);
+    }
+
+    @Test
+    @DisplayName("Debería responder comparaciones repetidas desde la caché hasta que cambia un producto")
+    void shouldServeRepeatedComparisonsFromCacheUntilProductChanges() {
+        // Arrange
+        List<String> ids = Arrays.asList("550e8400-e29b-41d4-a716-446655440001", "550e8400-e29b-41d4-a716-446655440002");
+        Product product1 = Product.builder().id(ids.get(0)).productName("Producto 1").build();
+        Product product2 = Product.builder().id(ids.get(1)).productName("Producto 2").build();
+        when(productRepository.compareProducts(ids)).thenReturn(Arrays.asList(product1, product2));
+        when(productRepository.addProduct(product2)).thenReturn(product2);
+
+        // Act
+        productUseCase.compareProducts(ids);
+        List<Product> cached = productUseCase.compareProducts(ids);
+        productUseCase.addProduct(product2);
+        productUseCase.compareProducts(ids);
+
+        // Assert
+        assertEquals(Arrays.asList(product1, product2), cached);
+        verify(productRepository, times(2)).compareProducts(ids);
+    }
+
+    @Test
+    @DisplayName("Debería resolver varias comparaciones con una sola consulta por la unión de los IDs")
+    void shouldResolveComparisonGroupsWithOneLookupForTheUnionOfIds() {
+        // Arrange
+        Product product1 = Product.builder().id("p1").productName("Producto 1").build();
+        Product product2 = Product.builder().id("p2").productName("Producto 2").build();
+        Product product3 = Product.builder().id("p3").productName("Producto 3").build();
+        when(productRepository.compareProducts(Arrays.asList("p1", "p2", "p3", "p9")))
+                .thenReturn(Arrays.asList(product1, product2, product3));
+        List<List<String>> groups = Arrays.asList(
+                Arrays.asList("p1", "p2"),
+                Arrays.asList("p3", "p2", "p3"),
+                null,
+                Arrays.asList("p1", "p9"));
+
+        // Act
+        List<List<Product>> result = productUseCase.compareProductGroups(groups);
+        List<List<Product>> cached = productUseCase.compareProductGroups(groups.subList(0, 2));
+
+        // Assert
+        assertEquals(Arrays.asList(
+                Arrays.asList(product1, product2),
+                Arrays.asList(product3, product2),
+                List.of(),
+                List.of(product1)), result);
+        assertEquals(result.subList(0, 2), cached);
+        verify(productRepository, times(1)).compareProducts(any());
+    }
+}
@@ -0,0 +1,118 @@
+package co.com.ml.usecase.product.cache;
+
+import co.com.ml.model.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ComparisonCache")
+class ComparisonCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<List<String>, List<Product>> loader = ids -> {
+        loads.incrementAndGet();
+        return ids.stream().distinct().map(id -> Product.builder().id(id).build()).toList();
+    };
+
+    @Test
+    @DisplayName("Debería compartir la entrada entre solicitudes con el mismo conjunto de IDs")
+    void shouldShareEntryForSameIdSet() {
+        // Arrange
+        ComparisonCache cache = new ComparisonCache(100);
+        cache.get(List.of("a", "b"), loader);
+
+        // Act
+        List<Product> result = cache.get(List.of("b", "a", "b"), loader);
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(List.of("b", "a"), result.stream().map(Product::getId).toList());
+        assertEquals(0.5, cache.hitRatio());
+    }
+
+    @Test
+    @DisplayName("Debería invalidar solo las comparaciones que incluyen el producto")
+    void shouldInvalidateOnlyComparisonsContainingProduct() {
+        // Arrange
+        ComparisonCache cache = new ComparisonCache(100);
+        cache.get(List.of("a", "b"), loader);
+        cache.get(List.of("c", "d"), loader);
+
+        // Act
+        cache.invalidate("b");
+        cache.get(List.of("c", "d"), loader);
+        cache.get(List.of("a", "b"), loader);
+
+        // Assert
+        assertEquals(3, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Debería descartar todas las comparaciones al invalidar la caché completa")
+    void shouldDiscardAllComparisonsWhenInvalidatingAll() {
+        // Arrange
+        ComparisonCache cache = new ComparisonCache(100);
+        cache.get(List.of("a", "b"), loader);
+        cache.get(List.of("c", "d"), loader);
+
+        // Act
+        cache.invalidateAll();
+        int sizeAfterInvalidation = cache.size();
+        cache.get(List.of("a", "b"), loader);
+
+        // Assert
+        assertEquals(0, sizeAfterInvalidation);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Debería conservar las comparaciones frecuentes ante un recorrido de comparaciones únicas")
+    void shouldKeepFrequentComparisonsDuringScan() {
+        // Arrange
+        ComparisonCache cache = new ComparisonCache(100);
+        List<List<String>> popular = new ArrayList<>();
+        IntStream.range(0, 50).forEach(i -> popular.add(List.of("p" + i, "q" + i)));
+        for (int round = 0; round < 5; round++) {
+            popular.forEach(ids -> cache.get(ids, loader));
+        }
+
+        // Act
+        IntStream.range(0, 1000).forEach(i -> cache.get(List.of("x" + i, "y" + i), loader));
+        int before = loads.get();
+        popular.forEach(ids -> cache.get(ids, loader));
+
+        // Assert: con LRU se perderían todas; la frecuencia estimada es aproximada, por lo que se tolera alguna
+        assertTrue(loads.get() - before <= popular.size() / 10);
+        assertTrue(cache.evictions() > 0);
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    @DisplayName("Debería responder en el orden solicitado aunque el cargador retorne otro orden")
+    void shouldAnswerInRequestedOrderWhenLoaderReturnsAnotherOrder() {
+        // Arrange
+        ComparisonCache cache = new ComparisonCache(100);
+        Function<List<String>, List<Product>> unordered = ids -> List.of(
+                Product.builder().id("c").build(),
+                Product.builder().id("a").build(),
+                Product.builder().id("b").build(),
+                Product.builder().id("a").build());
+
+        // Act
+        List<Product> miss = cache.get(List.of("b", "a", "c", "b"), unordered);
+        List<Product> hit = cache.get(List.of("b", "a", "c", "b"), unordered);
+
+        // Assert
+        assertEquals(List.of("b", "a", "c"), miss.stream().map(Product::getId).toList());
+        assertEquals(miss, hit);
+    }
+}
@@ -0,0 +1,55 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ProductAttributeStore")
+class ProductAttributeStoreTest {
+
+    private static Product product(String id, String specifications) {
+        return Product.builder().id(id).specifications(specifications).build();
+    }
+
+    @Test
+    @DisplayName("Debería alinear los atributos de los productos en columnas")
+    void shouldAlignAttributesInColumns() {
+        // Arrange
+        ProductAttributeStore store = new ProductAttributeStore();
+        List<Product> products = Arrays.asList(
+                product("1", "{\"ram\": \"8GB\", \"pantalla\": \"14\\\" FHD\"}"),
+                product("2", "{\"procesador\": \"Intel i7\", \"ram\": \"16GB\"}"),
+                product("3", "Intel i7, 16GB RAM"));
+
+        // Act
+        Map<String, List<String>> columns = store.alignedAttributes(products);
+
+        // Assert
+        assertEquals(Arrays.asList("ram", "pantalla", "procesador"), List.copyOf(columns.keySet()));
+        assertEquals(Arrays.asList("8GB", "16GB", null), columns.get("ram"));
+        assertEquals(Arrays.asList("14\" FHD", null, null), columns.get("pantalla"));
+        assertEquals(Arrays.asList(null, "Intel i7", null), columns.get("procesador"));
+    }
+
+    @Test
+    @DisplayName("Debería guardar una sola vez los nombres y valores repetidos")
+    void shouldStoreRepeatedNamesAndValuesOnce() {
+        // Arrange
+        ProductAttributeStore store = new ProductAttributeStore();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            store.add(product(String.valueOf(i), "{\"ram\": \"8GB\", \"almacenamiento\": \"256GB SSD\"}"));
+        }
+
+        // Assert
+        assertEquals(4, store.dictionarySize());
+        assertEquals("256GB SSD", store.attributesOf(product("50", null)).get("almacenamiento"));
+    }
+}
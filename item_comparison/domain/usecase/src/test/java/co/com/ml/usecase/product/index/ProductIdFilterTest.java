@@ -0,0 +1,45 @@
+package co.com.ml.usecase.product.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ProductIdFilter")
+class ProductIdFilterTest {
+
+    @Test
+    @DisplayName("Debería reconocer todos los IDs registrados aunque el filtro crezca")
+    void shouldRecognizeAllRegisteredIdsWhenGrowing() {
+        // Arrange
+        ProductIdFilter filter = new ProductIdFilter(100, 0.01);
+        long initialMemory = filter.memoryBytes();
+
+        // Act
+        IntStream.range(0, 5000).forEach(i -> filter.put("id-" + i));
+
+        // Assert
+        assertTrue(IntStream.range(0, 5000).allMatch(i -> filter.mightContain("id-" + i)));
+        assertTrue(filter.memoryBytes() > initialMemory);
+    }
+
+    @Test
+    @DisplayName("Debería mantener acotada la tasa de falsos positivos")
+    void shouldKeepFalsePositiveRateBounded() {
+        // Arrange
+        ProductIdFilter filter = new ProductIdFilter(1000, 0.01);
+        IntStream.range(0, 4000).forEach(i -> filter.put("id-" + i));
+
+        // Act
+        long falsePositives = IntStream.range(0, 10000)
+                .filter(i -> filter.mightContain("missing-" + i))
+                .count();
+
+        // Assert
+        assertTrue(falsePositives < 300, "falsos positivos: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.03);
+        assertFalse(filter.mightContain(null));
+    }
+}
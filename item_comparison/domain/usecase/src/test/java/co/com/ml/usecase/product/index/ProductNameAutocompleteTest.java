@@ -0,0 +1,56 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ProductNameAutocomplete")
+class ProductNameAutocompleteTest {
+
+    private static Product product(String name, Double rating) {
+        return Product.builder().id(name).productName(name).rating(rating).build();
+    }
+
+    @Test
+    @DisplayName("Debería sugerir nombres por prefijo ordenados por calificación")
+    void shouldSuggestNamesByPrefixRankedByRating() {
+        // Arrange
+        ProductNameAutocomplete autocomplete = new ProductNameAutocomplete();
+        autocomplete.add(product("Laptop Ultralight Pro", 4.1));
+        autocomplete.add(product("Laptop Gaming", 4.7));
+        autocomplete.add(product("Lámpara LED", 3.0));
+        autocomplete.add(product("Teclado", null));
+
+        // Act
+        List<String> result = autocomplete.complete("LA", 10);
+
+        // Assert
+        assertEquals(Arrays.asList("Laptop Gaming", "Laptop Ultralight Pro", "Lámpara LED"), result);
+        assertEquals(Collections.singletonList("Lámpara LED"), autocomplete.complete("lam", 10));
+        assertTrue(autocomplete.complete("x", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería conservar una sola sugerencia por nombre con la mejor calificación")
+    void shouldKeepSingleSuggestionPerNameWithBestRating() {
+        // Arrange
+        ProductNameAutocomplete autocomplete = new ProductNameAutocomplete();
+        autocomplete.add(product("Laptop Ultralight Pro", 4.1));
+        autocomplete.add(product("Laptop Gaming", 4.7));
+        IntStream.range(0, 20).forEach(i -> autocomplete.add(product("Lapicero " + i, i / 10.0)));
+
+        // Act
+        autocomplete.add(product("laptop ultralight pro", 4.9));
+        List<String> result = autocomplete.complete("lap", 3);
+
+        // Assert
+        assertEquals(Arrays.asList("Laptop Ultralight Pro", "Laptop Gaming", "Lapicero 19"), result);
+    }
+}
@@ -0,0 +1,66 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ProductSearchIndex")
+class ProductSearchIndexTest {
+
+    private static Product product(String id, String name, String description) {
+        return Product.builder().id(id).productName(name).description(description).build();
+    }
+
+    private static ProductSearchIndex catalog() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(product("1", "Cámara réflex", "Cámara profesional con lente intercambiable"));
+        index.add(product("2", "Trípode", "Trípode liviano para cámara"));
+        index.add(product("3", "Audífonos", "Audífonos inalámbricos con cancelación de ruido"));
+        return index;
+    }
+
+    @Test
+    @DisplayName("Debería encontrar productos sin importar tildes ni mayúsculas")
+    void shouldFindProductsIgnoringAccentsAndCase() {
+        // Act
+        List<String> result = catalog().search("CAMARA", 0, 10);
+
+        // Assert
+        assertEquals(List.of("1", "2"), result);
+    }
+
+    @Test
+    @DisplayName("Debería paginar los resultados ordenados por relevancia")
+    void shouldPaginateRankedResults() {
+        // Arrange
+        ProductSearchIndex index = catalog();
+
+        // Act
+        List<String> firstPage = index.search("cámara trípode", 0, 1);
+        List<String> secondPage = index.search("cámara trípode", 1, 1);
+        List<String> beyond = index.search("cámara trípode", 5, 1);
+
+        // Assert
+        assertEquals("2", firstPage.get(0));
+        assertEquals("1", secondPage.get(0));
+        assertTrue(beyond.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería ignorar productos con un ID ya indexado")
+    void shouldIgnoreAlreadyIndexedIds() {
+        // Arrange
+        ProductSearchIndex index = catalog();
+
+        // Act
+        index.add(product("3", "Parlante", "Parlante portátil"));
+
+        // Assert
+        assertEquals(3, index.size());
+        assertTrue(index.search("parlante", 0, 10).isEmpty());
+    }
+}
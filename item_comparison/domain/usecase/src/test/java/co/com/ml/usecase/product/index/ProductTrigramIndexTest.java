@@ -0,0 +1,52 @@
+package co.com.ml.usecase.product.index;
+
+import co.com.ml.model.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ProductTrigramIndex")
+class ProductTrigramIndexTest {
+
+    private static Product product(String id, String name) {
+        return Product.builder().id(id).productName(name).build();
+    }
+
+    private static ProductTrigramIndex catalog() {
+        ProductTrigramIndex index = new ProductTrigramIndex();
+        index.add(product("1", "SteelSeries Arctis 7"));
+        index.add(product("2", "Logitech G Pro"));
+        index.add(product("3", "Teclado SteelSeries Apex"));
+        index.add(product("4", "Cámara Sony"));
+        IntStream.range(0, 1000).forEach(i -> index.add(product("g" + i, "Producto genérico " + i)));
+        return index;
+    }
+
+    @Test
+    @DisplayName("Debería encontrar productos a pesar de errores de escritura")
+    void shouldFindProductsDespiteTypos() {
+        // Act
+        List<String> result = catalog().search("stelseries", 0.3, 10);
+
+        // Assert
+        assertEquals(Arrays.asList("1", "3"), result);
+        assertEquals("2", catalog().search("logitek", 0.3, 10).get(0));
+    }
+
+    @Test
+    @DisplayName("Debería descartar coincidencias por debajo del umbral")
+    void shouldDiscardMatchesBelowThreshold() {
+        // Act
+        List<String> strict = catalog().search("stelseries", 0.9, 10);
+        List<String> unrelated = catalog().search("zzz", 0.3, 10);
+
+        // Assert
+        assertTrue(strict.isEmpty());
+        assertTrue(unrelated.isEmpty());
+    }
+}
@@ -0,0 +1,291 @@
+package co.com.ml.binary;
+
+import co.com.ml.json.CatalogFiles;
+import co.com.ml.model.exceptions.ProductRepositoryException;
+import co.com.ml.model.product.PageCursor;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import co.com.ml.model.product.gateways.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador de persistencia sobre un segmento binario mapeado en memoria.
+ * Los productos no se mantienen como objetos en el heap: solo se conserva la tabla primitiva de
+ * posiciones por ID, y cada consulta decodifica directamente los registros solicitados desde el
+ * page cache. Se activa con {@code adapters.repository=binary}.
+ * <p>
+ * Las escrituras se serializan en un único escritor que agrega los registros del lote y publica sus
+ * posiciones solo cuando todos quedaron persistidos; un lote que falla se descarta completo. Las lecturas
+ * no toman candados y nunca esperan a una escritura en curso.
+ * <p>
+ * Las métricas {@code catalog.segment.bytes}, {@code catalog.segment.mapped.bytes} y
+ * {@code catalog.index.heap.bytes} publican los bytes de registros del segmento, la parte del segmento mapeada en
+ * memoria y los bytes de heap de la tabla de posiciones. Los totales de la JVM (heap y buffers mapeados de todo
+ * el proceso) son los de {@code jvm.memory.used} y {@code jvm.buffer.memory.used}.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "adapters.repository", havingValue = "binary")
+public class BinaryRepositoryAdapter implements ProductRepository {
+
+    private final BinaryStorageProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OffsetIndex offsets = new OffsetIndex();
+    private final Lock writeLock = new ReentrantLock();
+    private SegmentFile segment;
+
+    /**
+     * Abre el segmento al iniciar el adaptador; si está vacío lo inicializa con el catálogo JSON configurado.
+     */
+    @PostConstruct
+    public void open() {
+        try {
+            segment = SegmentFile.open(Path.of(properties.getSegmentFile()), Path.of(properties.getIndexFile()), offsets);
+            if (offsets.size() == 0) {
+                seed(Path.of(properties.getSeedFile()));
+            }
+            registerMemoryGauges();
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al abrir el almacenamiento binario de productos", e);
+        }
+    }
+
+    /**
+     * Cierra el segmento al detener el adaptador.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        segment.close();
+    }
+
+    @Override
+    public Product addProduct(Product product) {
+        writeLock.lock();
+        try {
+            append(Collections.singletonList(product));
+            return product;
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al guardar el producto", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Agrega todos los registros del lote y sincroniza el segmento una sola vez al final; si algo falla no
+     * queda ninguno.
+     */
+    @Override
+    public List<Product> addProducts(List<Product> products) {
+        writeLock.lock();
+        try {
+            append(products);
+            return products;
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al guardar los productos", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Product> listAllProducts() {
+        try {
+            List<Product> products = new ArrayList<>(offsets.size());
+            segment.forEach(record -> products.add(ProductRecordCodec.decode(record)));
+            return products;
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+    }
+
+    @Override
+    public List<Product> compareProducts(List<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<Product> found = new ArrayList<>(productIds.size());
+            for (String productId : new LinkedHashSet<>(productIds)) {
+                Product product = find(productId);
+                if (product != null) {
+                    found.add(product);
+                }
+            }
+            return found;
+        } catch (UncheckedIOException e) {
+            throw new ProductRepositoryException("Error al cargar productos para comparación", e.getCause());
+        }
+    }
+
+    /**
+     * Recorre el segmento decodificando un registro a la vez, por lo que solo el producto entregado
+     * ocupa el heap.
+     */
+    @Override
+    public void forEachProduct(Consumer<Product> consumer) {
+        try {
+            segment.forEach(record -> consumer.accept(ProductRecordCodec.decode(record)));
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+    }
+
+    /**
+     * Pagina recorriendo el segmento desde la posición del cursor, que es la posición en bytes del primer
+     * registro de la página; los registros anteriores no se leen.
+     */
+    @Override
+    public ProductPage listProducts(String cursor, int limit) {
+        long position = PageCursor.decode(cursor);
+        try {
+            if (position != segment.size() && !segment.isRecordStart(position, offsets)) {
+                throw PageCursor.invalid();
+            }
+            List<Product> products = new ArrayList<>(limit);
+            long next = segment.forEach(position, limit, record -> products.add(ProductRecordCodec.decode(record)));
+            return ProductPage.builder()
+                    .products(products)
+                    .nextCursor(next < segment.size() ? PageCursor.encode(next) : null)
+                    .build();
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+    }
+
+    /**
+     * La versión es el tamaño comprometido del segmento, que avanza con cada registro agregado.
+     */
+    @Override
+    public long catalogVersion() {
+        return segment.size();
+    }
+
+    /**
+     * Filtra por rango leyendo precio y calificación directamente de cada registro a partir de la posición del
+     * cursor, como en {@link #listProducts(String, int)}; solo se materializan los productos de la página y el
+     * recorrido se detiene en el primero que ya no cabe en ella.
+     */
+    @Override
+    public ProductPage findProductsInRange(Double minPrice, Double maxPrice, Double minRating,
+                                           String cursor, int limit) {
+        long position = PageCursor.decode(cursor);
+        try {
+            if (position != segment.size() && !segment.isRecordStart(position, offsets)) {
+                throw PageCursor.invalid();
+            }
+            List<Product> products = new ArrayList<>(limit);
+            ProductRecordView view = new ProductRecordView();
+            long next = segment.scan(position, record -> {
+                view.wrap(record);
+                if (!inRange(view.price(), minPrice, maxPrice) || (minRating != null && !atLeast(view.rating(), minRating))) {
+                    return true;
+                }
+                if (products.size() == limit) {
+                    return false;
+                }
+                products.add(view.toProduct());
+                return true;
+            });
+            return ProductPage.builder()
+                    .products(products)
+                    .nextCursor(next < 0 ? null : PageCursor.encode(next))
+                    .build();
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+    }
+
+    private static boolean inRange(Double price, Double minPrice, Double maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return true;
+        }
+        return price != null && (minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice);
+    }
+
+    private static boolean atLeast(Double value, double minimum) {
+        return value != null && value >= minimum;
+    }
+
+    private Product find(String productId) {
+        if (productId == null) {
+            return null;
+        }
+        byte[] id = productId.getBytes(StandardCharsets.UTF_8);
+        Product[] found = new Product[1];
+        offsets.find(OffsetIndex.hash(productId), offset -> {
+            ProductRecordView view = new ProductRecordView().wrap(readRecord(offset));
+            if (!view.idEquals(id)) {
+                return false;
+            }
+            found[0] = view.toProduct();
+            return true;
+        });
+        return found[0];
+    }
+
+    private ByteBuffer readRecord(long offset) {
+        try {
+            return segment.record(offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(List<Product> products) throws IOException {
+        List<byte[]> records = new ArrayList<>(products.size());
+        long[] hashes = new long[products.size()];
+        for (int i = 0; i < products.size(); i++) {
+            hashes[i] = OffsetIndex.hash(products.get(i).getId());
+            records.add(ProductRecordCodec.encode(products.get(i)));
+        }
+        long[] positions = segment.append(records, hashes);
+        for (int i = 0; i < positions.length; i++) {
+            offsets.put(hashes[i], positions[i]);
+        }
+    }
+
+    private void registerMemoryGauges() {
+        Gauge.builder("catalog.segment.bytes", segment, SegmentFile::size)
+                .description("Bytes de registros de productos comprometidos en el segmento")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.segment.mapped.bytes", segment, SegmentFile::mappedBytes)
+                .description("Bytes del segmento mapeados en memoria fuera del heap")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.index.heap.bytes", offsets, OffsetIndex::heapBytes)
+                .description("Bytes de heap ocupados por el índice de posiciones")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private void seed(Path seedFile) throws IOException {
+        List<Product> products = CatalogFiles.read(objectMapper, seedFile);
+        if (products.isEmpty()) {
+            return;
+        }
+        append(products);
+    }
+}
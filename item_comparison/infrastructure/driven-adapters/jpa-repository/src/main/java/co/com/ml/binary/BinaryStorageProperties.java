@@ -0,0 +1,27 @@
+package co.com.ml.binary;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del almacenamiento binario del catálogo.
+ */
+@Data
+@ConfigurationProperties(prefix = "adapters.binary")
+public class BinaryStorageProperties {
+
+    /**
+     * Archivo de segmento con los registros de productos.
+     */
+    private String segmentFile = "products.seg";
+
+    /**
+     * Archivo de índice de ancho fijo que asocia cada ID con su posición en el segmento.
+     */
+    private String indexFile = "products.idx";
+
+    /**
+     * Catálogo JSON con el que se inicializa el segmento cuando está vacío.
+     */
+    private String seedFile = "products.json";
+}
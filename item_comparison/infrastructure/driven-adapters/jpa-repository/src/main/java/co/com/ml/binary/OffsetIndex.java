@@ -0,0 +1,126 @@
+package co.com.ml.binary;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongPredicate;
+
+/**
+ * Tabla hash de direccionamiento abierto con arreglos primitivos que asocia el hash de 64 bits de
+ * cada ID con la posición de su registro en el segmento. Ocupa 16 bytes por producto y no mantiene
+ * objetos en el heap; las colisiones de hash se resuelven verificando el ID del registro.
+ * <p>
+ * Admite un único escritor y lectores concurrentes sin candados: cada entrada publica su hash con
+ * semántica de liberación después de escribir su posición, y al crecer la tabla se construye una copia
+ * completa que se publica de forma atómica, de modo que un lector siempre ve una tabla consistente.
+ */
+final class OffsetIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = 0L;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private volatile Table table;
+    private volatile int size;
+
+    private record Table(long[] hashes, long[] offsets) {
+    }
+
+    OffsetIndex() {
+        table = new Table(new long[INITIAL_CAPACITY], new long[INITIAL_CAPACITY]);
+    }
+
+    /**
+     * Calcula el hash de 64 bits de un ID (FNV-1a con mezcla final); nunca retorna 0.
+     */
+    static long hash(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        return hash(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Calcula el hash de los bytes UTF-8 de un ID ubicados en un rango del buffer, sin decodificarlo.
+     */
+    static long hash(ByteBuffer buffer, int offset, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= buffer.get(i) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1L : hash;
+    }
+
+    /**
+     * Bytes de heap ocupados por los arreglos de la tabla.
+     */
+    long heapBytes() {
+        return 2L * Long.BYTES * table.hashes().length;
+    }
+
+    /**
+     * Registra la posición de un registro. Solo puede invocarse desde un escritor a la vez.
+     */
+    void put(long hash, long offset) {
+        Table current = table;
+        if ((size + 1) * 2 > current.hashes().length) {
+            current = resize(current, current.hashes().length * 2);
+            table = current;
+        }
+        insert(current, hash, offset);
+        size++;
+    }
+
+    /**
+     * Recorre las posiciones candidatas para el hash en orden de inserción hasta que el visitante
+     * retorne true.
+     *
+     * @return true si el visitante aceptó alguna posición
+     */
+    boolean find(long hash, LongPredicate visitor) {
+        Table current = table;
+        long[] hashes = current.hashes();
+        int mask = hashes.length - 1;
+        long candidate;
+        for (int slot = slot(hash, mask); (candidate = (long) SLOTS.getAcquire(hashes, slot)) != EMPTY;
+             slot = (slot + 1) & mask) {
+            if (candidate == hash && visitor.test(current.offsets()[slot])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static Table resize(Table current, int capacity) {
+        Table next = new Table(new long[capacity], new long[capacity]);
+        long[] hashes = current.hashes();
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != EMPTY) {
+                insert(next, hashes[i], current.offsets()[i]);
+            }
+        }
+        return next;
+    }
+
+    private static void insert(Table table, long hash, long offset) {
+        long[] hashes = table.hashes();
+        int mask = hashes.length - 1;
+        int slot = slot(hash, mask);
+        while (hashes[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table.offsets()[slot] = offset;
+        SLOTS.setRelease(hashes, slot, hash);
+    }
+
+    private static int slot(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,109 @@
+package co.com.ml.binary;
+
+import co.com.ml.model.product.Product;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codificación binaria de productos.
+ * Cada texto se escribe como su longitud en bytes seguida de su contenido en UTF-8 (-1 si es nulo)
+ * y cada número como un byte de presencia seguido del valor. El ID es el primer campo para poder
+ * verificarlo sin decodificar el registro completo (ver {@link ProductRecordView}).
+ */
+final class ProductRecordCodec {
+
+    /**
+     * Tamaño del registro más pequeño posible: todos los textos nulos.
+     */
+    static final int MIN_RECORD_SIZE = 5 * Integer.BYTES + 2 * (1 + Double.BYTES);
+
+    private static final int NULL_LENGTH = -1;
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+
+    private ProductRecordCodec() {
+    }
+
+    /**
+     * Codifica un producto.
+     *
+     * @param product el producto a codificar
+     * @return los bytes del registro
+     */
+    static byte[] encode(Product product) {
+        byte[][] texts = {
+                bytes(product.getId()),
+                bytes(product.getProductName()),
+                bytes(product.getImageUrl()),
+                bytes(product.getDescription()),
+                bytes(product.getSpecifications())
+        };
+        int size = 2 * (1 + Double.BYTES);
+        for (byte[] text : texts) {
+            size += Integer.BYTES + (text == null ? 0 : text.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        putText(buffer, texts[0]);
+        putText(buffer, texts[1]);
+        putText(buffer, texts[2]);
+        putText(buffer, texts[3]);
+        putNumber(buffer, product.getPrice());
+        putNumber(buffer, product.getRating());
+        putText(buffer, texts[4]);
+        return buffer.array();
+    }
+
+    /**
+     * Decodifica un producto a partir de la posición actual del buffer.
+     *
+     * @param buffer buffer posicionado al inicio del registro
+     * @return el producto decodificado
+     */
+    static Product decode(ByteBuffer buffer) {
+        return Product.builder()
+                .id(getText(buffer))
+                .productName(getText(buffer))
+                .imageUrl(getText(buffer))
+                .description(getText(buffer))
+                .price(getNumber(buffer))
+                .rating(getNumber(buffer))
+                .specifications(getText(buffer))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putText(ByteBuffer buffer, byte[] text) {
+        if (text == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        buffer.putInt(text.length);
+        buffer.put(text);
+    }
+
+    private static void putNumber(ByteBuffer buffer, Double value) {
+        buffer.put(value == null ? ABSENT : PRESENT);
+        buffer.putDouble(value == null ? 0 : value);
+    }
+
+    private static String getText(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] text = new byte[length];
+        buffer.get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    private static Double getNumber(ByteBuffer buffer) {
+        byte presence = buffer.get();
+        double value = buffer.getDouble();
+        return presence == PRESENT ? value : null;
+    }
+}
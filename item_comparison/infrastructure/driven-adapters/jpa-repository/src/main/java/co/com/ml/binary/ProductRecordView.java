@@ -0,0 +1,79 @@
+package co.com.ml.binary;
+
+import co.com.ml.model.product.Product;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vista de solo lectura sobre un registro codificado por {@link ProductRecordCodec}, ubicado fuera del heap.
+ * Los campos se leen bajo demanda directamente desde el buffer, sin materializar el producto; la misma
+ * instancia puede reutilizarse para recorrer varios registros llamando a {@link #wrap(ByteBuffer)}.
+ * Solo {@link #toProduct()} crea objetos en el heap.
+ */
+final class ProductRecordView {
+
+    private static final int NULL_LENGTH = -1;
+    private static final byte PRESENT = 1;
+    private static final int TEXT_FIELDS_BEFORE_NUMBERS = 4;
+
+    private ByteBuffer record;
+    private int base;
+
+    /**
+     * Apunta la vista al registro que inicia en la posición actual del buffer.
+     *
+     * @param record buffer posicionado al inicio del registro
+     * @return esta misma vista
+     */
+    ProductRecordView wrap(ByteBuffer record) {
+        this.record = record;
+        this.base = record.position();
+        return this;
+    }
+
+    /**
+     * Compara el ID del registro con los bytes UTF-8 indicados sin decodificarlo.
+     */
+    boolean idEquals(byte[] id) {
+        int length = record.getInt(base);
+        if (length != id.length) {
+            return false;
+        }
+        return record.slice(base + Integer.BYTES, length).equals(ByteBuffer.wrap(id));
+    }
+
+    /**
+     * Calcula el hash del ID del registro directamente sobre sus bytes.
+     */
+    long idHash() {
+        return OffsetIndex.hash(record, base + Integer.BYTES, record.getInt(base));
+    }
+
+    Double price() {
+        return number(numbersStart());
+    }
+
+    Double rating() {
+        return number(numbersStart() + 1 + Double.BYTES);
+    }
+
+    /**
+     * Materializa el registro como un producto del dominio.
+     */
+    Product toProduct() {
+        return ProductRecordCodec.decode(record.duplicate().position(base));
+    }
+
+    private int numbersStart() {
+        int position = base;
+        for (int i = 0; i < TEXT_FIELDS_BEFORE_NUMBERS; i++) {
+            int length = record.getInt(position);
+            position += Integer.BYTES + (length == NULL_LENGTH ? 0 : length);
+        }
+        return position;
+    }
+
+    private Double number(int position) {
+        return record.get(position) == PRESENT ? record.getDouble(position + 1) : null;
+    }
+}
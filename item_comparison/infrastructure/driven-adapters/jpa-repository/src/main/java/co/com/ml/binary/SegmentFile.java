@@ -0,0 +1,326 @@
+package co.com.ml.binary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Archivo de segmento con registros de productos prefijados por su longitud y su CRC32, acompañado de
+ * un archivo de índice con entradas de ancho fijo {@code (hash del ID, posición)}.
+ * <p>
+ * Las lecturas se resuelven sobre regiones del segmento mapeadas en memoria, de modo que una
+ * búsqueda puntual cuesta unas pocas lecturas del page cache y no crea objetos intermedios.
+ * Los registros se agregan siempre al final; al abrir se verifica cada registro y se recuperan los que
+ * no alcanzaron a indexarse. El segmento y el índice se truncan en el primer registro inválido: incompleto,
+ * con una longitud imposible, con un CRC que no coincide o con una entrada de índice que no le corresponde.
+ */
+final class SegmentFile implements Closeable {
+
+    private static final long REGION_SIZE = 1L << 28;
+    private static final int LENGTH_PREFIX = Integer.BYTES;
+    private static final int RECORD_HEADER = LENGTH_PREFIX + Integer.BYTES;
+    private static final int INDEX_ENTRY_SIZE = 2 * Long.BYTES;
+
+    private final FileChannel segment;
+    private final FileChannel index;
+    private final Map<Integer, MappedByteBuffer> regions = new ConcurrentHashMap<>();
+    private volatile long committedSize;
+    private long entryCount;
+
+    private SegmentFile(FileChannel segment, FileChannel index) {
+        this.segment = segment;
+        this.index = index;
+    }
+
+    /**
+     * Abre el segmento y su índice, cargando las posiciones de todos los registros en la tabla indicada.
+     */
+    static SegmentFile open(Path segmentPath, Path indexPath, OffsetIndex offsets) throws IOException {
+        FileChannel segment = FileChannel.open(segmentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index = FileChannel.open(indexPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SegmentFile file = new SegmentFile(segment, index);
+        file.recover(offsets);
+        return file;
+    }
+
+    /**
+     * Agrega los registros al final del segmento y sus entradas al índice, y sincroniza ambos archivos. Los
+     * registros se comprometen juntos: solo quedan visibles si todas las escrituras y la sincronización
+     * terminan bien; si algo falla, ambos archivos se truncan a su longitud previa para que el lote no quede
+     * a medias ni el siguiente registro detrás de uno incompleto.
+     *
+     * @param records registros codificados, en orden
+     * @param hashes hash del ID de cada registro
+     * @return la posición de cada registro
+     */
+    long[] append(List<byte[]> records, long[] hashes) throws IOException {
+        long start = committedSize;
+        long entriesStart = entryCount * INDEX_ENTRY_SIZE;
+        long[] positions = new long[records.size()];
+        long offset = start;
+        try {
+            for (int i = 0; i < records.size(); i++) {
+                byte[] record = records.get(i);
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + record.length);
+                buffer.putInt(record.length).putInt((int) checksum(ByteBuffer.wrap(record))).put(record).flip();
+                writeFully(segment, buffer, offset);
+                positions[i] = offset;
+                offset += RECORD_HEADER + record.length;
+            }
+            ByteBuffer entries = ByteBuffer.allocate(records.size() * INDEX_ENTRY_SIZE);
+            for (int i = 0; i < records.size(); i++) {
+                entries.putLong(hashes[i]).putLong(positions[i]);
+            }
+            writeFully(index, entries.flip(), entriesStart);
+            segment.force(false);
+            index.force(false);
+        } catch (IOException | RuntimeException e) {
+            rollback(start, entriesStart, e);
+            throw e;
+        }
+        committedSize = offset;
+        entryCount += records.size();
+        return positions;
+    }
+
+    /**
+     * Retorna el contenido del registro ubicado en la posición indicada.
+     */
+    ByteBuffer record(long offset) throws IOException {
+        int length = read(offset, LENGTH_PREFIX).getInt();
+        return read(offset + RECORD_HEADER, length);
+    }
+
+    /**
+     * Recorre secuencialmente todos los registros comprometidos hasta el momento.
+     */
+    void forEach(Consumer<ByteBuffer> consumer) throws IOException {
+        forEach(0, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Recorre secuencialmente hasta {@code limit} registros comprometidos a partir de la posición indicada,
+     * que debe ser el inicio de un registro.
+     *
+     * @return la posición siguiente al último registro recorrido
+     */
+    long forEach(long from, int limit, Consumer<ByteBuffer> consumer) throws IOException {
+        long end = committedSize;
+        long offset = from;
+        for (int visited = 0; visited < limit && offset < end; visited++) {
+            int length = read(offset, LENGTH_PREFIX).getInt();
+            consumer.accept(read(offset + RECORD_HEADER, length));
+            offset += RECORD_HEADER + length;
+        }
+        return offset;
+    }
+
+    /**
+     * Recorre secuencialmente los registros comprometidos a partir de la posición indicada, que debe ser el
+     * inicio de un registro, mientras el visitante retorne true.
+     *
+     * @return la posición del registro en que el visitante se detuvo, o -1 si recorrió todos
+     */
+    long scan(long from, Predicate<ByteBuffer> visitor) throws IOException {
+        long end = committedSize;
+        long offset = from;
+        while (offset < end) {
+            int length = read(offset, LENGTH_PREFIX).getInt();
+            if (!visitor.test(read(offset + RECORD_HEADER, length))) {
+                return offset;
+            }
+            offset += RECORD_HEADER + length;
+        }
+        return -1;
+    }
+
+    /**
+     * Indica si en la posición comienza un registro comprometido, verificándolo contra la tabla de posiciones.
+     * Sirve para validar posiciones recibidas desde afuera antes de leer a partir de ellas.
+     */
+    boolean isRecordStart(long offset, OffsetIndex offsets) throws IOException {
+        long end = committedSize;
+        if (offset < 0 || offset + RECORD_HEADER > end) {
+            return false;
+        }
+        int length = read(offset, LENGTH_PREFIX).getInt();
+        if (length < ProductRecordCodec.MIN_RECORD_SIZE || offset + RECORD_HEADER + length > end) {
+            return false;
+        }
+        ByteBuffer record = read(offset + RECORD_HEADER, length);
+        int idLength = record.getInt(0);
+        if (idLength < 0 || idLength > length - Integer.BYTES) {
+            return false;
+        }
+        return offsets.find(new ProductRecordView().wrap(record).idHash(), candidate -> candidate == offset);
+    }
+
+    /**
+     * Bytes de registros comprometidos en el archivo del segmento.
+     */
+    long size() {
+        return committedSize;
+    }
+
+    /**
+     * Bytes del segmento mapeados actualmente en memoria. Es espacio de direcciones fuera del heap, no memoria
+     * residente: qué parte está en memoria física lo decide el page cache del sistema operativo.
+     */
+    long mappedBytes() {
+        long mapped = 0;
+        for (MappedByteBuffer region : regions.values()) {
+            mapped += region.capacity();
+        }
+        return mapped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        regions.clear();
+        segment.close();
+        index.close();
+    }
+
+    /**
+     * Carga las entradas del índice verificando cada registro al que apuntan y luego indexa los registros
+     * válidos que quedaron después de la última entrada. Las entradas se escriben en el orden de los
+     * registros, por lo que cada una debe apuntar al final del registro anterior.
+     */
+    private void recover(OffsetIndex offsets) throws IOException {
+        long segmentSize = segment.size();
+        long validEnd = 0;
+
+        long entries = index.size() / INDEX_ENTRY_SIZE;
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+        while (entryCount < entries) {
+            entry.clear();
+            readFully(index, entry, entryCount * INDEX_ENTRY_SIZE);
+            entry.flip();
+            long hash = entry.getLong();
+            long offset = entry.getLong();
+            long end = offset == validEnd ? recordEnd(offset, segmentSize) : -1;
+            if (end < 0 || idHash(offset) != hash) {
+                break;
+            }
+            offsets.put(hash, offset);
+            validEnd = end;
+            entryCount++;
+        }
+        index.truncate(entryCount * INDEX_ENTRY_SIZE);
+
+        long end;
+        while ((end = recordEnd(validEnd, segmentSize)) >= 0) {
+            long hash = idHash(validEnd);
+            writeFully(index, indexEntry(hash, validEnd), entryCount * INDEX_ENTRY_SIZE);
+            offsets.put(hash, validEnd);
+            validEnd = end;
+            entryCount++;
+        }
+        committedSize = validEnd;
+        segment.truncate(validEnd);
+        regions.clear();
+    }
+
+    /**
+     * Calcula el final del registro ubicado en la posición indicada, o -1 si no es válido: incompleto, con
+     * una longitud menor que la del registro más pequeño posible o con un CRC que no coincide.
+     */
+    private long recordEnd(long offset, long segmentSize) throws IOException {
+        if (offset + RECORD_HEADER > segmentSize) {
+            return -1;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        readFully(segment, header, offset);
+        header.flip();
+        int length = header.getInt();
+        long expected = Integer.toUnsignedLong(header.getInt());
+        if (length < ProductRecordCodec.MIN_RECORD_SIZE || offset + RECORD_HEADER + length > segmentSize) {
+            return -1;
+        }
+        return checksum(read(offset + RECORD_HEADER, length)) == expected ? offset + RECORD_HEADER + length : -1;
+    }
+
+    private long idHash(long offset) throws IOException {
+        return new ProductRecordView().wrap(record(offset)).idHash();
+    }
+
+    /**
+     * Descarta lo escrito por un lote fallido. Si tampoco se puede truncar, el error se agrega como
+     * suprimido al de la escritura.
+     */
+    private void rollback(long segmentSize, long indexSize, Exception failure) {
+        try {
+            segment.truncate(segmentSize);
+            index.truncate(indexSize);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static ByteBuffer indexEntry(long hash, long offset) {
+        return ByteBuffer.allocate(INDEX_ENTRY_SIZE).putLong(hash).putLong(offset).flip();
+    }
+
+    private static long checksum(ByteBuffer bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate());
+        return crc.getValue();
+    }
+
+    /**
+     * Lee un rango del segmento desde la región mapeada que lo contiene; si el rango cruza el límite
+     * entre regiones se lee directamente del canal.
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        int regionNumber = (int) (position / REGION_SIZE);
+        int start = (int) (position % REGION_SIZE);
+        if (start + (long) length > REGION_SIZE) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            readFully(segment, buffer, position);
+            return buffer.flip();
+        }
+        return region(regionNumber, start + length).slice(start, length);
+    }
+
+    private MappedByteBuffer region(int regionNumber, int requiredLength) throws IOException {
+        MappedByteBuffer region = regions.get(regionNumber);
+        if (region != null && region.capacity() >= requiredLength) {
+            return region;
+        }
+        long regionStart = regionNumber * REGION_SIZE;
+        long length = Math.min(REGION_SIZE, Math.max(committedSize, segment.size()) - regionStart);
+        region = segment.map(FileChannel.MapMode.READ_ONLY, regionStart, length);
+        regions.put(regionNumber, region);
+        return region;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            current += channel.write(buffer, current);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new IOException("Fin inesperado del archivo en la posición " + current);
+            }
+            current += read;
+        }
+    }
+}
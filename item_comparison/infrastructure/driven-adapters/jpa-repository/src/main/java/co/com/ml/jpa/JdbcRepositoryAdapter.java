@@ -0,0 +1,386 @@
+package co.com.ml.jpa;
+
+import co.com.ml.json.CatalogFiles;
+import co.com.ml.model.exceptions.ProductRepositoryException;
+import co.com.ml.model.product.PageCursor;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import co.com.ml.model.product.gateways.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador de persistencia sobre una base de datos relacional mediante JDBC.
+ * Las inserciones se envían en lotes dentro de una sola transacción y la comparación resuelve todos los IDs
+ * con una consulta {@code IN} parametrizada sobre la llave primaria, en lugar de una consulta por producto.
+ * Las filas consultadas se conservan en una caché LRU acotada. Se activa con {@code adapters.repository=jdbc}.
+ * <p>
+ * La versión del catálogo se guarda en una fila propia que cada inserción incrementa al inicio de su
+ * transacción. El candado de esa fila serializa las inserciones de todas las instancias, de modo que las
+ * secuencias se asignan en el mismo orden en que se confirman las transacciones.
+ */
+@Repository
+@ConditionalOnProperty(name = "adapters.repository", havingValue = "jdbc")
+public class JdbcRepositoryAdapter implements ProductRepository {
+
+    /**
+     * Cantidad máxima de parámetros por consulta {@code IN}; las listas más largas se dividen en varias consultas.
+     */
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS product (
+                seq BIGINT GENERATED BY DEFAULT AS IDENTITY UNIQUE,
+                id VARCHAR(64) NOT NULL PRIMARY KEY,
+                product_name VARCHAR(255),
+                image_url VARCHAR(1024),
+                description VARCHAR(4000),
+                price DOUBLE PRECISION,
+                rating DOUBLE PRECISION,
+                specifications VARCHAR(4000)
+            )""";
+
+    private static final String CREATE_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS catalog_version (
+                id INT NOT NULL PRIMARY KEY,
+                version BIGINT NOT NULL
+            )""";
+
+    private static final String INITIALIZE_VERSION = "INSERT INTO catalog_version (id, version) "
+            + "SELECT 1, (SELECT COALESCE(MAX(seq), 0) FROM product) "
+            + "WHERE NOT EXISTS (SELECT 1 FROM catalog_version WHERE id = 1)";
+
+    private static final String CREATE_PRICE_INDEX =
+            "CREATE INDEX IF NOT EXISTS product_price_rating_idx ON product (price, rating)";
+
+    private static final String INSERT = "INSERT INTO product "
+            + "(id, product_name, image_url, description, price, rating, specifications) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COLUMNS = "id, product_name, image_url, description, price, rating, specifications";
+
+    private static final String PAGE =
+            "SELECT seq, " + COLUMNS + " FROM product WHERE seq >= :from ORDER BY seq LIMIT :limit";
+
+    private static final String VERSION = "SELECT version FROM catalog_version WHERE id = 1";
+
+    private static final String BUMP_VERSION = "UPDATE catalog_version SET version = version + ? WHERE id = 1";
+
+    private static final RowMapper<Product> ROW_MAPPER = JdbcRepositoryAdapter::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcStorageProperties properties;
+    private final ProductRowCache cache;
+    private final AtomicLong writes = new AtomicLong();
+    private volatile VersionSample versionSample;
+
+    public JdbcRepositoryAdapter(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 JdbcStorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.cache = new ProductRowCache(Math.max(0, properties.getCacheSize()));
+    }
+
+    /**
+     * Crea las tablas si no existen y, si la de productos está vacía, la inicializa con el catálogo JSON
+     * configurado. La versión de una tabla ya poblada parte de su secuencia más alta.
+     */
+    @PostConstruct
+    public void initialize() {
+        try {
+            jdbcTemplate.getJdbcTemplate().execute(CREATE_TABLE);
+            jdbcTemplate.getJdbcTemplate().execute(CREATE_PRICE_INDEX);
+            jdbcTemplate.getJdbcTemplate().execute(CREATE_VERSION_TABLE);
+            try {
+                jdbcTemplate.getJdbcTemplate().update(INITIALIZE_VERSION);
+            } catch (DuplicateKeyException e) {
+                // otra instancia creó la fila de versión al mismo tiempo
+            }
+            Long count = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM product", Long.class);
+            if (count == null || count == 0) {
+                seed(Path.of(properties.getSeedFile()));
+            }
+        } catch (DataAccessException | IOException e) {
+            throw new ProductRepositoryException("Error al inicializar la tabla de productos", e);
+        }
+    }
+
+    @Override
+    public Product addProduct(Product product) {
+        try {
+            insertAll(Collections.singletonList(product));
+            return product;
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al guardar el producto", e);
+        }
+    }
+
+    /**
+     * Inserta el lote completo en una sola transacción.
+     */
+    @Override
+    public List<Product> addProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return products;
+        }
+        try {
+            insertAll(products);
+            return products;
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al guardar los productos", e);
+        }
+    }
+
+    @Override
+    public List<Product> listAllProducts() {
+        try {
+            return jdbcTemplate.getJdbcTemplate().query("SELECT " + COLUMNS + " FROM product ORDER BY seq", ROW_MAPPER);
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+    }
+
+    @Override
+    public List<Product> compareProducts(List<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<String> requested = new LinkedHashSet<>(productIds);
+        requested.remove(null);
+
+        Map<String, Product> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String productId : requested) {
+            Product cached = cache.get(productId);
+            if (cached != null) {
+                found.put(productId, cached);
+            } else {
+                misses.add(productId);
+            }
+        }
+        try {
+            for (int from = 0; from < misses.size(); from += MAX_IN_LIST_SIZE) {
+                List<String> chunk = misses.subList(from, Math.min(misses.size(), from + MAX_IN_LIST_SIZE));
+                for (Product product : jdbcTemplate.query("SELECT " + COLUMNS + " FROM product WHERE id IN (:ids)",
+                        Map.of("ids", chunk), ROW_MAPPER)) {
+                    cache.put(product);
+                    found.put(product.getId(), product);
+                }
+            }
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al cargar productos para comparación", e);
+        }
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Recorre la tabla fila por fila sobre el cursor del resultado, sin acumular los productos.
+     */
+    @Override
+    public void forEachProduct(Consumer<Product> consumer) {
+        try {
+            jdbcTemplate.getJdbcTemplate().query("SELECT " + COLUMNS + " FROM product ORDER BY seq",
+                    (RowCallbackHandler) resultSet -> consumer.accept(mapRow(resultSet, 0)));
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+    }
+
+    /**
+     * Pagina por la columna de secuencia: el cursor es la secuencia del primer producto de la página y la
+     * consulta la ubica con el índice único, sin recorrer las filas anteriores. Como las inserciones se
+     * serializan con la fila de versión, una fila confirmada después de leer una página nunca tiene una
+     * secuencia menor que el cursor y aparece en las páginas siguientes.
+     */
+    @Override
+    public ProductPage listProducts(String cursor, int limit) {
+        long position = PageCursor.decode(cursor);
+        List<Long> sequences = new ArrayList<>(limit + 1);
+        List<Product> products;
+        try {
+            products = jdbcTemplate.query(PAGE, Map.of("from", position, "limit", limit + 1), (resultSet, rowNum) -> {
+                sequences.add(resultSet.getLong("seq"));
+                return mapRow(resultSet, rowNum);
+            });
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+        if (products.size() <= limit) {
+            return ProductPage.builder().products(products).build();
+        }
+        return ProductPage.builder()
+                .products(new ArrayList<>(products.subList(0, limit)))
+                .nextCursor(PageCursor.encode(sequences.get(limit)))
+                .build();
+    }
+
+    /**
+     * La versión se lee de la fila de versión, que cada inserción de cualquier instancia incrementa en la
+     * misma transacción en que agrega sus filas, de modo que cambia exactamente cuando se confirman. Se
+     * reutiliza durante {@code adapters.jdbc.version-cache-millis}; las inserciones de esta instancia
+     * descartan el valor leído.
+     */
+    @Override
+    public long catalogVersion() {
+        long now = System.nanoTime();
+        long maxAge = TimeUnit.MILLISECONDS.toNanos(properties.getVersionCacheMillis());
+        VersionSample sample = versionSample;
+        if (sample != null && now - sample.readAt() < maxAge) {
+            return sample.version();
+        }
+        long writesBefore = writes.get();
+        Long version;
+        try {
+            version = jdbcTemplate.getJdbcTemplate().queryForObject(VERSION, Long.class);
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al consultar la versión del catálogo", e);
+        }
+        long current = version == null ? 0 : version;
+        versionSample = new VersionSample(current, now);
+        if (writes.get() != writesBefore) {
+            // una inserción propia terminó durante la lectura: el valor leído puede no incluirla
+            versionSample = null;
+        }
+        return current;
+    }
+
+    /**
+     * La base de datos puede ser compartida por varias instancias de la aplicación.
+     */
+    @Override
+    public boolean isSharedStore() {
+        return true;
+    }
+
+    /**
+     * Filtra y pagina en la misma consulta: el cursor es la secuencia desde la que se busca, como en
+     * {@link #listProducts(String, int)}, y se lee una fila más que el límite para obtener la secuencia
+     * del primer producto de la página siguiente.
+     */
+    @Override
+    public ProductPage findProductsInRange(Double minPrice, Double maxPrice, Double minRating,
+                                           String cursor, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT seq, " + COLUMNS + " FROM product WHERE seq >= :from");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", PageCursor.decode(cursor));
+        parameters.put("limit", limit + 1);
+        if (minPrice != null) {
+            sql.append(" AND price >= :minPrice");
+            parameters.put("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            sql.append(" AND price <= :maxPrice");
+            parameters.put("maxPrice", maxPrice);
+        }
+        if (minRating != null) {
+            sql.append(" AND rating >= :minRating");
+            parameters.put("minRating", minRating);
+        }
+        List<Long> sequences = new ArrayList<>(limit + 1);
+        List<Product> products;
+        try {
+            products = jdbcTemplate.query(sql.append(" ORDER BY seq LIMIT :limit").toString(), parameters,
+                    (resultSet, rowNum) -> {
+                        sequences.add(resultSet.getLong("seq"));
+                        return mapRow(resultSet, rowNum);
+                    });
+        } catch (DataAccessException e) {
+            throw new ProductRepositoryException("Error al listar los productos", e);
+        }
+        if (products.size() <= limit) {
+            return ProductPage.builder().products(products).build();
+        }
+        return ProductPage.builder()
+                .products(new ArrayList<>(products.subList(0, limit)))
+                .nextCursor(PageCursor.encode(sequences.get(limit)))
+                .build();
+    }
+
+    /**
+     * Inserta los productos en lotes de {@code adapters.jdbc.batch-size} filas dentro de una sola transacción,
+     * de modo que se persisten todos o ninguno. La transacción incrementa primero la fila de versión, cuyo
+     * candado espera a que terminen las inserciones en curso de otras instancias.
+     *
+     * @param products productos a insertar
+     */
+    void insertAll(List<Product> products) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.getJdbcTemplate().update(BUMP_VERSION, products.size());
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT, products, batchSize, JdbcRepositoryAdapter::bind);
+        });
+        products.forEach(cache::put);
+        writes.incrementAndGet();
+        versionSample = null;
+    }
+
+    private void seed(Path seedFile) throws IOException {
+        List<Product> products = CatalogFiles.read(new ObjectMapper(), seedFile);
+        if (!products.isEmpty()) {
+            insertAll(products);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Product product) throws SQLException {
+        statement.setString(1, product.getId());
+        statement.setString(2, product.getProductName());
+        statement.setString(3, product.getImageUrl());
+        statement.setString(4, product.getDescription());
+        setDouble(statement, 5, product.getPrice());
+        setDouble(statement, 6, product.getRating());
+        statement.setString(7, product.getSpecifications());
+    }
+
+    private static void setDouble(PreparedStatement statement, int index, Double value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.DOUBLE);
+        } else {
+            statement.setDouble(index, value);
+        }
+    }
+
+    private static Product mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return Product.builder()
+                .id(resultSet.getString("id"))
+                .productName(resultSet.getString("product_name"))
+                .imageUrl(resultSet.getString("image_url"))
+                .description(resultSet.getString("description"))
+                .price(resultSet.getObject("price", Double.class))
+                .rating(resultSet.getObject("rating", Double.class))
+                .specifications(resultSet.getString("specifications"))
+                .build();
+    }
+
+    private record VersionSample(long version, long readAt) {
+    }
+}
@@ -0,0 +1,33 @@
+package co.com.ml.jpa;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del adaptador relacional del catálogo.
+ */
+@Data
+@ConfigurationProperties(prefix = "adapters.jdbc")
+public class JdbcStorageProperties {
+
+    /**
+     * Cantidad de filas enviadas en cada lote de inserción.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Cantidad máxima de productos conservados en la caché de filas consultadas.
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * Milisegundos durante los que se reutiliza la versión del catálogo leída de la base de datos. Acota cuánto
+     * tarda una instancia en ver las filas insertadas por otra; las inserciones propias se ven de inmediato.
+     */
+    private long versionCacheMillis = 1000;
+
+    /**
+     * Catálogo JSON con el que se inicializa la tabla cuando está vacía.
+     */
+    private String seedFile = "products.json";
+}
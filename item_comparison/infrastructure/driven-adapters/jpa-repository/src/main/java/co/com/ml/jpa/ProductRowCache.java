@@ -0,0 +1,36 @@
+package co.com.ml.jpa;
+
+import co.com.ml.model.product.Product;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU acotada de filas de productos por ID.
+ * Los productos no se modifican una vez escritos, por lo que la caché no requiere invalidación.
+ */
+final class ProductRowCache {
+
+    private final Map<String, Product> rows;
+
+    ProductRowCache(int maxSize) {
+        this.rows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Product> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized Product get(String productId) {
+        return rows.get(productId);
+    }
+
+    synchronized void put(Product product) {
+        rows.put(product.getId(), product);
+    }
+
+    synchronized int size() {
+        return rows.size();
+    }
+}
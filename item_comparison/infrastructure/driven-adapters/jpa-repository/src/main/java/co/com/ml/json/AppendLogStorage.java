@@ -0,0 +1,319 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Almacenamiento estructurado como log: cada producto agregado se escribe como un registro
+ * al final del archivo de log, con costo constante sin importar el tamaño del catálogo.
+ * <p>
+ * Cada registro ocupa una línea con el formato {@code <crc32 en hexadecimal> <producto en JSON>}. La primera
+ * línea del log, {@code #<generación>}, indica sobre qué generación del archivo del catálogo se escribió.
+ * Al iniciar se carga el archivo del catálogo y se reproducen todos los registros del log, incluso los de IDs
+ * repetidos, igual que en el catálogo residente; un registro
+ * final incompleto (escritura interrumpida) se descarta y se trunca. Una escritura que falla a medias
+ * se deshace truncando el log a su longitud previa, para que la siguiente no quede detrás de un registro
+ * corrupto. Cuando el log supera el umbral configurado se compacta en el archivo del catálogo; si la
+ * compactación falla, la escritura ya quedó en el log y se considera exitosa.
+ */
+class AppendLogStorage implements CatalogStorage {
+
+    private static final int CHECKSUM_LENGTH = 8;
+    private static final byte SEPARATOR = ' ';
+    private static final byte NEW_LINE = '\n';
+    private static final byte GENERATION_MARK = '#';
+    private static final long NO_LOG = -1;
+
+    private final ObjectMapper objectMapper;
+    private final Path catalogFile;
+    private final Path logFile;
+    private final int compactionThreshold;
+
+    private FileChannel channel;
+    private int logRecords;
+    private long generation;
+    private long logGeneration;
+
+    AppendLogStorage(ObjectMapper objectMapper, Path catalogFile, Path logFile, int compactionThreshold) {
+        this.objectMapper = objectMapper;
+        this.catalogFile = catalogFile;
+        this.logFile = logFile;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public List<Product> load() throws IOException {
+        CatalogFiles.Catalog stored = CatalogFiles.readCatalog(objectMapper, catalogFile);
+        List<Product> products = stored.products();
+        generation = stored.generation();
+
+        long storedLogGeneration = readLogGeneration();
+        if (storedLogGeneration > generation) {
+            throw new IOException("El log de productos es de la generación " + storedLogGeneration
+                    + ", posterior a la del catálogo " + generation);
+        }
+        long validLength = storedLogGeneration == generation ? replay(products) : 0;
+
+        channel = openLog();
+        if (validLength == 0) {
+            resetLog();
+        } else {
+            channel.truncate(validLength);
+            channel.position(validLength);
+            logGeneration = generation;
+        }
+        return products;
+    }
+
+    @Override
+    public Map<String, Product> find(Set<String> productIds) throws IOException {
+        Map<String, Product> found = StreamingProductLookup.find(objectMapper, catalogFile, productIds);
+        if (found.size() < productIds.size()) {
+            readRecords(product -> {
+                if (productIds.contains(product.getId())) {
+                    found.putIfAbsent(product.getId(), product);
+                }
+                return found.size() < productIds.size();
+            });
+        }
+        return found;
+    }
+
+    @Override
+    public void write(List<Product> added, List<Product> catalog) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (Product product : added) {
+            buffer.write(encode(product));
+        }
+        ByteBuffer records = ByteBuffer.wrap(buffer.toByteArray());
+        if (logGeneration != generation) {
+            resetLog();
+        }
+        long start = channel.position();
+        try {
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+        } catch (IOException | RuntimeException e) {
+            rollback(start, e);
+            throw e;
+        }
+        logRecords += added.size();
+
+        if (logRecords >= compactionThreshold) {
+            try {
+                compact(catalog);
+            } catch (IOException | RuntimeException e) {
+                // los registros ya están en el log; la compactación se reintenta en la siguiente escritura
+            }
+        }
+    }
+
+    @Override
+    public void sync() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    /**
+     * Abre el archivo de log para escritura.
+     */
+    FileChannel openLog() throws IOException {
+        return FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Descarta lo escrito desde {@code start} por una escritura fallida. Si tampoco se puede truncar,
+     * el error se agrega como suprimido al de la escritura.
+     */
+    private void rollback(long start, Exception failure) {
+        try {
+            channel.truncate(start);
+            channel.position(start);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Reescribe el catálogo completo con la generación siguiente y reinicia el log en esa generación. Si el
+     * proceso se interrumpe entre ambos pasos, el log queda con una generación anterior a la del catálogo y
+     * sus registros, ya incluidos en el catálogo, se descartan al cargar. Si lo que falla es reiniciar el log,
+     * se reintenta antes de la siguiente escritura.
+     */
+    private void compact(List<Product> catalog) throws IOException {
+        CatalogFiles.writeAtomically(objectMapper, catalogFile, catalog, generation + 1);
+        generation++;
+        logRecords = 0;
+        resetLog();
+        channel.force(true);
+    }
+
+    /**
+     * Vacía el log y escribe su encabezado con la generación actual del catálogo.
+     */
+    private void resetLog() throws IOException {
+        ByteBuffer header = ByteBuffer.wrap(("#" + generation + "\n").getBytes(StandardCharsets.US_ASCII));
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        logGeneration = generation;
+    }
+
+    /**
+     * Lee la generación del encabezado del log. Un log escrito antes de que existiera el encabezado es de la
+     * generación 0.
+     *
+     * @return la generación, o {@link #NO_LOG} si el log no existe o su encabezado está incompleto
+     */
+    private long readLogGeneration() throws IOException {
+        if (!Files.exists(logFile) || Files.size(logFile) == 0) {
+            return NO_LOG;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(logFile))) {
+            if (in.read() != GENERATION_MARK) {
+                return 0;
+            }
+            StringBuilder digits = new StringBuilder();
+            int next;
+            while ((next = in.read()) != NEW_LINE) {
+                if (next < '0' || next > '9' || digits.length() > 18) {
+                    return NO_LOG;
+                }
+                digits.append((char) next);
+            }
+            return digits.isEmpty() ? NO_LOG : Long.parseLong(digits.toString());
+        }
+    }
+
+    /**
+     * Reproduce los registros del log sobre los productos cargados.
+     *
+     * @return longitud en bytes de la porción válida del log
+     */
+    private long replay(List<Product> products) throws IOException {
+        return readRecords(product -> {
+            products.add(product);
+            logRecords++;
+            return true;
+        });
+    }
+
+    /**
+     * Recorre los registros válidos del log mientras el visitante retorne true. Un registro inválido
+     * al final del log se considera una escritura interrumpida; en cualquier otra posición es un error. El
+     * encabezado de generación se salta.
+     *
+     * @return longitud en bytes de la porción válida recorrida
+     */
+    private long readRecords(RecordVisitor visitor) throws IOException {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+        long validLength = 0;
+        long fileLength = Files.size(logFile);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(logFile))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long offset = 0;
+            int next;
+            while ((next = in.read()) != -1) {
+                offset++;
+                if (next != NEW_LINE) {
+                    line.write(next);
+                    continue;
+                }
+                byte[] record = line.toByteArray();
+                line.reset();
+                if (offset == record.length + 1 && record.length > 0 && record[0] == GENERATION_MARK) {
+                    validLength = offset;
+                    continue;
+                }
+                Product product = decode(record);
+                if (product == null) {
+                    if (offset < fileLength) {
+                        throw new IOException("Registro corrupto en el log de productos en la posición " + validLength);
+                    }
+                    return validLength;
+                }
+                validLength = offset;
+                if (!visitor.visit(product)) {
+                    return validLength;
+                }
+            }
+        }
+        return validLength;
+    }
+
+    private byte[] encode(Product product) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(product);
+        byte[] checksum = String.format("%08x", checksum(json)).getBytes(StandardCharsets.US_ASCII);
+
+        byte[] record = new byte[CHECKSUM_LENGTH + 1 + json.length + 1];
+        System.arraycopy(checksum, 0, record, 0, CHECKSUM_LENGTH);
+        record[CHECKSUM_LENGTH] = SEPARATOR;
+        System.arraycopy(json, 0, record, CHECKSUM_LENGTH + 1, json.length);
+        record[record.length - 1] = NEW_LINE;
+        return record;
+    }
+
+    /**
+     * Decodifica un registro del log.
+     *
+     * @return el producto, o null si el registro está incompleto o su checksum no coincide
+     */
+    private Product decode(byte[] record) throws IOException {
+        if (record.length <= CHECKSUM_LENGTH + 1 || record[CHECKSUM_LENGTH] != SEPARATOR) {
+            return null;
+        }
+        long expected;
+        try {
+            expected = Long.parseLong(new String(record, 0, CHECKSUM_LENGTH, StandardCharsets.US_ASCII), 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        int jsonLength = record.length - CHECKSUM_LENGTH - 1;
+        byte[] json = new byte[jsonLength];
+        System.arraycopy(record, CHECKSUM_LENGTH + 1, json, 0, jsonLength);
+        if (checksum(json) != expected) {
+            return null;
+        }
+        return objectMapper.readValue(json, Product.class);
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        boolean visit(Product product) throws IOException;
+    }
+}
@@ -0,0 +1,235 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilidades de lectura y escritura del archivo del catálogo en formato JSON.
+ * <p>
+ * Si ningún texto largo (imagen, descripción o especificaciones) se repite lo suficiente, el catálogo se
+ * escribe como un arreglo de productos. En otro caso se escribe como un objeto con los textos repetidos
+ * guardados una sola vez en {@code contents}, direccionados por su SHA-256 en base64url, y los productos en
+ * {@code products} referenciándolos con los campos {@code imageUrlRef}, {@code descriptionRef} y
+ * {@code specificationsRef}. Un texto solo se referencia si guardarlo una vez ocupa menos que repetirlo.
+ * La lectura acepta ambos formatos.
+ * <p>
+ * Un catálogo escrito con generación (ver {@link #writeAtomically(ObjectMapper, Path, List, long)}) siempre usa
+ * el formato de objeto y la guarda en el campo {@code generation}; un catálogo sin ese campo es de la generación 0.
+ */
+public final class CatalogFiles {
+
+    static final String GENERATION = "generation";
+    static final String CONTENTS = "contents";
+    static final String PRODUCTS = "products";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int ADDRESS_LENGTH = 43;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    private CatalogFiles() {
+    }
+
+    /**
+     * Lee el catálogo completo del archivo, en cualquiera de sus dos formatos; si no existe o está vacío
+     * retorna una lista vacía.
+     *
+     * @param objectMapper mapper con el que se lee el archivo
+     * @param file archivo del catálogo
+     * @return productos del catálogo en orden de inserción
+     * @throws IOException si ocurre un error de lectura o el archivo referencia un contenido inexistente
+     */
+    public static List<Product> read(ObjectMapper objectMapper, Path file) throws IOException {
+        return readCatalog(objectMapper, file).products();
+    }
+
+    /**
+     * Lee el catálogo completo del archivo junto con su generación.
+     *
+     * @param objectMapper mapper con el que se lee el archivo
+     * @param file archivo del catálogo
+     * @return generación y productos del catálogo; un archivo inexistente es un catálogo vacío de la generación 0
+     * @throws IOException si ocurre un error de lectura o el archivo referencia un contenido inexistente
+     */
+    static Catalog readCatalog(ObjectMapper objectMapper, Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return new Catalog(0, new ArrayList<>());
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                List<Product> products = objectMapper.readValue(parser, PRODUCT_LIST);
+                return new Catalog(0, products == null ? new ArrayList<>() : products);
+            }
+            StoredCatalog catalog = objectMapper.readValue(parser, StoredCatalog.class);
+            Map<String, String> contents = catalog.contents() == null ? Map.of() : catalog.contents();
+            List<Product> products = new ArrayList<>();
+            if (catalog.products() != null) {
+                for (StoredProduct stored : catalog.products()) {
+                    products.add(stored.toProduct(contents));
+                }
+            }
+            return new Catalog(catalog.generation() == null ? 0 : catalog.generation(), products);
+        }
+    }
+
+    /**
+     * Escribe el catálogo completo en un archivo temporal y lo reemplaza atómicamente,
+     * de modo que un lector nunca observa un archivo escrito a medias.
+     */
+    static void writeAtomically(ObjectMapper objectMapper, Path file, List<Product> products) throws IOException {
+        Map<String, String> addresses = repeatedContents(products);
+        write(objectMapper, file, addresses.isEmpty() ? products : StoredCatalog.of(null, products, addresses));
+    }
+
+    /**
+     * Escribe atómicamente el catálogo completo registrando su generación, que se lee con
+     * {@link #readCatalog(ObjectMapper, Path)}.
+     */
+    static void writeAtomically(ObjectMapper objectMapper, Path file, List<Product> products, long generation)
+            throws IOException {
+        write(objectMapper, file, StoredCatalog.of(generation, products, repeatedContents(products)));
+    }
+
+    private static void write(ObjectMapper objectMapper, Path file, Object catalog) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, catalog);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Resuelve la referencia a un contenido guardado.
+     *
+     * @param contents contenidos guardados por dirección
+     * @param address dirección referenciada
+     * @return el texto guardado
+     * @throws IOException si la dirección no existe en el catálogo
+     */
+    static String resolve(Map<String, String> contents, String address) throws IOException {
+        String text = contents.get(address);
+        if (text == null) {
+            throw new IOException("Contenido no encontrado en el catálogo: " + address);
+        }
+        return text;
+    }
+
+    /**
+     * Calcula la dirección de los textos largos cuya repetición en el catálogo ocupa más que guardarlos una
+     * vez y referenciarlos en cada aparición.
+     *
+     * @return dirección de cada texto repetido, en orden de primera aparición
+     */
+    private static Map<String, String> repeatedContents(List<Product> products) {
+        Map<String, Integer> occurrences = new LinkedHashMap<>();
+        for (Product product : products) {
+            count(occurrences, product.getImageUrl());
+            count(occurrences, product.getDescription());
+            count(occurrences, product.getSpecifications());
+        }
+        Map<String, String> addresses = new LinkedHashMap<>();
+        occurrences.forEach((text, count) -> {
+            if ((long) (count - 1) * text.length() > (long) count * ADDRESS_LENGTH) {
+                addresses.put(text, address(text));
+            }
+        });
+        return addresses;
+    }
+
+    private static void count(Map<String, Integer> occurrences, String text) {
+        if (text != null) {
+            occurrences.merge(text, 1, Integer::sum);
+        }
+    }
+
+    private static String address(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ENCODER.encodeToString(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Catálogo leído del archivo con la generación en que se escribió.
+     */
+    record Catalog(long generation, List<Product> products) {
+    }
+
+    /**
+     * Catálogo con los textos repetidos guardados una sola vez.
+     */
+    @JsonPropertyOrder({GENERATION, CONTENTS, PRODUCTS})
+    record StoredCatalog(@JsonInclude(JsonInclude.Include.NON_NULL) Long generation, Map<String, String> contents,
+                         List<StoredProduct> products) {
+
+        static StoredCatalog of(Long generation, List<Product> products, Map<String, String> addresses) {
+            Map<String, String> contents = new LinkedHashMap<>();
+            addresses.forEach((text, address) -> contents.put(address, text));
+            List<StoredProduct> stored = new ArrayList<>(products.size());
+            Map<String, String> lookup = new HashMap<>(addresses);
+            for (Product product : products) {
+                stored.add(StoredProduct.of(product, lookup));
+            }
+            return new StoredCatalog(generation, contents, stored);
+        }
+    }
+
+    /**
+     * Producto tal como se guarda en el catálogo: cada texto largo va en línea o como referencia a su contenido.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record StoredProduct(String id, String productName, String imageUrl, String imageUrlRef, String description,
+                         String descriptionRef, Double price, Double rating, String specifications,
+                         String specificationsRef) {
+
+        static StoredProduct of(Product product, Map<String, String> addresses) {
+            String imageUrlRef = reference(addresses, product.getImageUrl());
+            String descriptionRef = reference(addresses, product.getDescription());
+            String specificationsRef = reference(addresses, product.getSpecifications());
+            return new StoredProduct(product.getId(), product.getProductName(),
+                    imageUrlRef == null ? product.getImageUrl() : null, imageUrlRef,
+                    descriptionRef == null ? product.getDescription() : null, descriptionRef,
+                    product.getPrice(), product.getRating(),
+                    specificationsRef == null ? product.getSpecifications() : null, specificationsRef);
+        }
+
+        Product toProduct(Map<String, String> contents) throws IOException {
+            return Product.builder()
+                    .id(id)
+                    .productName(productName)
+                    .imageUrl(imageUrlRef == null ? imageUrl : resolve(contents, imageUrlRef))
+                    .description(descriptionRef == null ? description : resolve(contents, descriptionRef))
+                    .price(price)
+                    .rating(rating)
+                    .specifications(specificationsRef == null ? specifications : resolve(contents, specificationsRef))
+                    .build();
+        }
+
+        private static String reference(Map<String, String> addresses, String text) {
+            return text == null ? null : addresses.get(text);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package co.com.ml.json;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estado de la carga en segundo plano del catálogo de {@link JsonRepositoryAdapter}, incluido en el grupo de
+ * readiness. Mientras la carga está en curso la instancia sigue lista, porque las comparaciones se resuelven
+ * leyendo el archivo; si la carga falla deja de estarlo, ya que el resto de las consultas responderían con
+ * error. Con los demás adaptadores siempre está arriba.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogLoadHealthIndicator implements HealthIndicator {
+
+    private final ObjectProvider<JsonRepositoryAdapter> jsonRepository;
+
+    @Override
+    public Health health() {
+        JsonRepositoryAdapter adapter = jsonRepository.getIfAvailable();
+        Throwable failure = adapter == null ? null : adapter.loadFailure();
+        return failure == null ? Health.up().build() : Health.down(failure).build();
+    }
+}
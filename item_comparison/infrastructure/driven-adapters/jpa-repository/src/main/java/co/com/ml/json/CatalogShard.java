@@ -0,0 +1,117 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Partición del catálogo con su propio archivo, su propio candado de escritura y su propia vista
+ * indexada en memoria. Las escrituras a particiones distintas avanzan en paralelo y las lecturas
+ * no toman candados.
+ */
+final class CatalogShard {
+
+    private final CatalogStorage storage;
+    private final Lock writeLock = new ReentrantLock();
+    private final AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>(CatalogSnapshot.empty());
+
+    CatalogShard(CatalogStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Carga la partición desde su archivo.
+     *
+     * @return los productos de la partición
+     */
+    List<Product> load() throws IOException {
+        List<Product> products = storage.load();
+        catalog.set(CatalogSnapshot.of(products));
+        return products;
+    }
+
+    /**
+     * Agrega productos a la partición y publica la nueva vista una vez persistidos.
+     */
+    void add(List<Product> added) throws IOException {
+        addAll(List.of(this), List.of(added));
+    }
+
+    /**
+     * Agrega productos a varias particiones como una sola escritura. Toma los candados de todas, persiste
+     * cada una y publica las nuevas vistas solo cuando todas quedaron persistidas. Si alguna falla, las ya
+     * escritas se restauran a su contenido previo y ninguna vista cambia; si tampoco se puede restaurar una,
+     * el error se agrega como suprimido al de la escritura.
+     *
+     * @param shards particiones involucradas, siempre en el mismo orden relativo para no bloquearse entre
+     *               escrituras concurrentes
+     * @param added productos a agregar a cada partición, en el orden de {@code shards}
+     */
+    static void addAll(List<CatalogShard> shards, List<List<Product>> added) throws IOException {
+        int locked = 0;
+        try {
+            for (CatalogShard shard : shards) {
+                shard.writeLock.lock();
+                locked++;
+            }
+            List<CatalogSnapshot> staged = new ArrayList<>(shards.size());
+            try {
+                for (int i = 0; i < shards.size(); i++) {
+                    CatalogShard shard = shards.get(i);
+                    CatalogSnapshot next = shard.catalog.get().withProducts(added.get(i));
+                    staged.add(next);
+                    shard.storage.write(added.get(i), next.products());
+                    shard.storage.sync();
+                }
+            } catch (IOException | RuntimeException e) {
+                for (int i = 0; i < staged.size(); i++) {
+                    shards.get(i).restore(e);
+                }
+                throw e;
+            }
+            for (int i = 0; i < shards.size(); i++) {
+                staged.get(i).publish();
+                shards.get(i).catalog.set(staged.get(i));
+            }
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                shards.get(i).writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Vuelve a escribir el contenido publicado de la partición, descartando una escritura no publicada.
+     */
+    private void restore(Exception failure) {
+        try {
+            List<Product> published = catalog.get().products();
+            storage.write(published, published);
+            storage.sync();
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    List<Product> products() {
+        return catalog.get().products();
+    }
+
+    CatalogSnapshot snapshot() {
+        return catalog.get();
+    }
+
+    List<Product> findAll(Collection<String> productIds) {
+        return catalog.get().findAll(productIds);
+    }
+
+    int size() {
+        return catalog.get().size();
+    }
+}
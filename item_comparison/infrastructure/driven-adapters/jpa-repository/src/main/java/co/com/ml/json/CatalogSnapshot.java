@@ -0,0 +1,225 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Vista inmutable del catálogo residente en memoria.
+ * Conserva el orden de inserción de los productos, un índice por ID y columnas primitivas de precio y
+ * calificación, de modo que las lecturas no requieren volver a leer ni parsear el archivo.
+ * Los textos largos repetidos entre productos se guardan una sola vez en un {@link ContentStore}
+ * compartido por las vistas sucesivas del catálogo, que solo incorpora los textos de vistas publicadas.
+ * <p>
+ * Las vistas sucesivas comparten los productos y las columnas en bloques de solo agregado
+ * ({@link ChunkedArray}) y un índice concurrente de ID a fila, así que agregar cuesta lo agregado y no el
+ * tamaño del catálogo. Cada vista solo ve sus primeras {@link #size()} filas. Una vista nueva se crea con
+ * {@link #withProducts(List)} sobre la última publicada y, una vez persistida, se registra en el índice
+ * compartido con {@link #publish()} antes de hacerla visible; si no se publica, sus filas se descartan.
+ */
+final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(ChunkedArray.empty(), new ConcurrentHashMap<>(),
+            Map.of(), NumericColumns.empty(), new ContentStore(), null, true);
+
+    private final ChunkedArray<Product> products;
+    private final ConcurrentMap<String, Integer> rowsById;
+    private final Map<String, Integer> stagedRows;
+    private final NumericColumns columns;
+    private final ContentStore contents;
+    private final ContentStore.Staging stagedContents;
+    private volatile boolean published;
+
+    private CatalogSnapshot(ChunkedArray<Product> products, ConcurrentMap<String, Integer> rowsById,
+                            Map<String, Integer> stagedRows, NumericColumns columns, ContentStore contents,
+                            ContentStore.Staging stagedContents, boolean published) {
+        this.products = products;
+        this.rowsById = rowsById;
+        this.stagedRows = stagedRows;
+        this.columns = columns;
+        this.contents = contents;
+        this.stagedContents = stagedContents;
+        this.published = published;
+    }
+
+    /**
+     * Retorna un catálogo vacío.
+     */
+    static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construye un catálogo publicado a partir de la lista de productos cargada desde el almacenamiento.
+     *
+     * @param products productos en orden de inserción
+     * @return el catálogo indexado
+     */
+    static CatalogSnapshot of(List<Product> products) {
+        if (products == null || products.isEmpty()) {
+            return EMPTY;
+        }
+        CatalogSnapshot staged = EMPTY.withProducts(products);
+        staged.publish();
+        return staged;
+    }
+
+    /**
+     * Crea un nuevo catálogo con el producto agregado al final. La instancia actual no se modifica.
+     *
+     * @param product el producto a agregar
+     * @return el nuevo catálogo
+     */
+    CatalogSnapshot withProduct(Product product) {
+        return withProducts(Collections.singletonList(product));
+    }
+
+    /**
+     * Crea un nuevo catálogo con los productos agregados al final, sin copiar los productos existentes.
+     * La instancia actual no se modifica. Los IDs agregados quedan visibles en el nuevo catálogo, pero solo
+     * se registran en el índice compartido al invocar {@link #publish()}.
+     *
+     * @param added los productos a agregar
+     * @return el nuevo catálogo, aún sin publicar
+     * @throws IllegalStateException si esta vista no está publicada
+     */
+    CatalogSnapshot withProducts(List<Product> added) {
+        if (!published) {
+            throw new IllegalStateException("Solo se puede agregar sobre una vista publicada del catálogo");
+        }
+        boolean first = this == EMPTY;
+        ConcurrentMap<String, Integer> nextRows = first ? new ConcurrentHashMap<>() : rowsById;
+        ContentStore nextContents = first ? new ContentStore() : contents;
+
+        ContentStore.Staging staging = nextContents.stage();
+        List<Product> stored = new ArrayList<>(added.size());
+        Map<String, Integer> staged = new HashMap<>();
+        int row = size();
+        for (Product product : added) {
+            Product deduplicated = staging.deduplicate(product);
+            stored.add(deduplicated);
+            String id = deduplicated.getId();
+            if (id != null && !nextRows.containsKey(id)) {
+                staged.putIfAbsent(id, row);
+            }
+            row++;
+        }
+
+        return new CatalogSnapshot(products.append(stored), nextRows, staged, columns.append(added),
+                nextContents, staging, false);
+    }
+
+    /**
+     * Registra los IDs agregados por esta vista en el índice compartido e incorpora sus textos nuevos al
+     * almacén de contenidos. Lo invoca el escritor una vez persistidos los productos y antes de hacer visible
+     * la vista; las vistas anteriores siguen sin ver esas filas porque quedan fuera de su tamaño.
+     */
+    void publish() {
+        if (published) {
+            return;
+        }
+        stagedRows.forEach(rowsById::putIfAbsent);
+        stagedContents.commit();
+        published = true;
+    }
+
+    /**
+     * Retorna todos los productos en orden de inserción, como una lista inmutable que no copia el catálogo.
+     */
+    List<Product> products() {
+        return products.asList();
+    }
+
+    /**
+     * Retorna hasta {@code limit} productos a partir de la posición indicada, sin recorrer los anteriores.
+     *
+     * @param from posición del primer producto, entre 0 y el tamaño del catálogo
+     * @param limit cantidad máxima de productos
+     * @return los productos de la página, en orden de inserción
+     */
+    List<Product> page(int from, int limit) {
+        int to = (int) Math.min(size(), (long) from + limit);
+        List<Product> page = new ArrayList<>(Math.max(0, to - from));
+        for (int row = from; row < to; row++) {
+            page.add(products.get(row));
+        }
+        return Collections.unmodifiableList(page);
+    }
+
+    /**
+     * Busca los productos de los IDs indicados usando el índice por ID.
+     * El resultado respeta el orden de los IDs solicitados y omite duplicados e inexistentes; si un ID se
+     * repite en el catálogo se retorna su primera aparición.
+     *
+     * @param productIds IDs a buscar
+     * @return productos encontrados
+     */
+    List<Product> findAll(Collection<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Product> found = new ArrayList<>(productIds.size());
+        for (String productId : new LinkedHashSet<>(productIds)) {
+            Integer row = rowOf(productId);
+            if (row != null) {
+                found.add(products.get(row));
+            }
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Busca hasta {@code limit} productos por rango de precio y calificación mínima a partir de la posición
+     * indicada, recorriendo las columnas primitivas. Un límite nulo no filtra esa columna.
+     *
+     * @param from posición desde la que se busca, entre 0 y el tamaño del catálogo
+     * @return las posiciones de los productos encontrados, en orden ascendente
+     */
+    int[] rowsInRange(Double minPrice, Double maxPrice, Double minRating, int from, int limit) {
+        return columns.rowsInRange(minPrice, maxPrice, minRating, from, limit);
+    }
+
+    /**
+     * Retorna el producto de la posición indicada.
+     */
+    Product get(int row) {
+        return products.get(row);
+    }
+
+    /**
+     * Relación entre los caracteres de texto largo referenciados por los productos y los guardados en memoria.
+     */
+    double deduplicationRatio() {
+        return contents.ratio();
+    }
+
+    /**
+     * Retorna la cantidad de productos del catálogo.
+     */
+    int size() {
+        return products.size();
+    }
+
+    /**
+     * Fila de la primera aparición del ID en esta vista, o null si no aparece. El índice compartido puede
+     * tener filas de vistas posteriores, que se ignoran.
+     */
+    private Integer rowOf(String productId) {
+        if (productId == null) {
+            return null;
+        }
+        Integer row = rowsById.get(productId);
+        if (row == null || row >= size()) {
+            row = stagedRows.get(productId);
+        }
+        return row;
+    }
+}
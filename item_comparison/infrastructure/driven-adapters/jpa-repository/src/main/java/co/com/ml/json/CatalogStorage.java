@@ -0,0 +1,55 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estrategia de persistencia del catálogo JSON.
+ * Define cómo se carga el catálogo al iniciar y cómo se persisten los productos agregados.
+ */
+interface CatalogStorage extends Closeable {
+
+    /**
+     * Carga todos los productos persistidos, en orden de inserción.
+     *
+     * @return productos persistidos
+     * @throws IOException si ocurre un error de lectura
+     */
+    List<Product> load() throws IOException;
+
+    /**
+     * Busca directamente en los archivos los productos con los IDs indicados, sin cargar el catálogo
+     * completo. Se usa mientras el catálogo residente aún no termina de cargarse.
+     *
+     * @param productIds IDs a buscar
+     * @return productos encontrados por ID
+     * @throws IOException si ocurre un error de lectura
+     */
+    Map<String, Product> find(Set<String> productIds) throws IOException;
+
+    /**
+     * Persiste los productos agregados. La escritura puede quedar en los buffers del sistema operativo
+     * hasta que se invoque {@link #sync()}.
+     *
+     * @param added productos agregados en esta escritura
+     * @param catalog catálogo completo resultante, incluyendo los agregados
+     * @throws IOException si ocurre un error de escritura
+     */
+    void write(List<Product> added, List<Product> catalog) throws IOException;
+
+    /**
+     * Fuerza a disco las escrituras pendientes.
+     *
+     * @throws IOException si ocurre un error al sincronizar
+     */
+    void sync() throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
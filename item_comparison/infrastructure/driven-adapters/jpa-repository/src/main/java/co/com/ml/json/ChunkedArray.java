@@ -0,0 +1,100 @@
+package co.com.ml.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Arreglo de solo agregado dividido en bloques de tamaño fijo. Cada instancia es una vista de las primeras
+ * {@code size} posiciones; agregar escribe a continuación en los mismos bloques y retorna una vista nueva,
+ * sin copiar los elementos existentes, de modo que el costo de agregar depende solo de lo agregado.
+ * <p>
+ * Admite un único escritor, que siempre agrega sobre la última vista publicada; las posiciones escritas
+ * por un agregado que nunca se publicó se sobrescriben en el siguiente. Los lectores solo acceden a las
+ * posiciones de su vista, que no vuelven a modificarse.
+ */
+final class ChunkedArray<T> {
+
+    static final int CHUNK_SHIFT = 12;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final ChunkedArray<?> EMPTY = new ChunkedArray<>(new Object[0][], 0);
+
+    private final Object[][] chunks;
+    private final int size;
+
+    private ChunkedArray(Object[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ChunkedArray<T> empty() {
+        return (ChunkedArray<T>) EMPTY;
+    }
+
+    /**
+     * Retorna una vista con los elementos actuales seguidos de los agregados. La vista actual no cambia.
+     */
+    ChunkedArray<T> append(List<? extends T> added) {
+        Object[][] next = withCapacity(chunks, size, size + added.size());
+        int position = size;
+        for (T element : added) {
+            next[position >>> CHUNK_SHIFT][position & CHUNK_MASK] = element;
+            position++;
+        }
+        return new ChunkedArray<>(next, position);
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera del rango [0, " + size + ")");
+        }
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Retorna una lista inmutable respaldada por esta vista, sin copiar los elementos.
+     */
+    List<T> asList() {
+        return new View();
+    }
+
+    /**
+     * Asegura que el directorio tenga bloques para las posiciones {@code [from, capacity)}. Si el directorio
+     * actual no alcanza se copia solo el directorio, no los bloques, y la vista que lo usa no se modifica.
+     */
+    private static Object[][] withCapacity(Object[][] chunks, int from, int capacity) {
+        int needed = (capacity + CHUNK_MASK) >>> CHUNK_SHIFT;
+        Object[][] next = chunks;
+        if (needed > chunks.length) {
+            next = Arrays.copyOf(chunks, Math.max(needed, chunks.length * 2));
+        }
+        for (int chunk = from >>> CHUNK_SHIFT; chunk < needed; chunk++) {
+            if (next[chunk] == null) {
+                next[chunk] = new Object[CHUNK_SIZE];
+            }
+        }
+        return next;
+    }
+
+    private final class View extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int index) {
+            return ChunkedArray.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
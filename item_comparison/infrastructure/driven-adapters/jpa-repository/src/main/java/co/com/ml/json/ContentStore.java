@@ -0,0 +1,108 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Almacén de los textos largos del catálogo (imagen, descripción y especificaciones) direccionado por
+ * contenido: cada texto distinto se guarda una sola vez y todos los productos que lo repiten comparten
+ * la misma instancia en el heap.
+ * <p>
+ * Lo comparten las vistas sucesivas de un mismo catálogo y solo crece, igual que el catálogo. Los productos
+ * de un commit se deduplican contra una {@link Staging} que guarda aparte los textos nuevos; esos textos y
+ * sus contadores se incorporan al almacén solo al confirmarla, cuando la vista se publica, así que un commit
+ * fallido no deja textos retenidos ni altera la métrica. Las escrituras deben venir de un único hilo a la vez
+ * (el escritor del catálogo); los contadores pueden leerse desde cualquier hilo.
+ */
+final class ContentStore {
+
+    private final Map<String, String> contents = new HashMap<>();
+    private volatile long referencedChars;
+    private volatile long storedChars;
+
+    /**
+     * Inicia la deduplicación de los productos de un commit.
+     */
+    Staging stage() {
+        return new Staging();
+    }
+
+    /**
+     * Relación entre los caracteres referenciados por los productos y los efectivamente guardados;
+     * 1 significa que no hay textos repetidos.
+     */
+    double ratio() {
+        long stored = storedChars;
+        return stored == 0 ? 1.0 : (double) referencedChars / stored;
+    }
+
+    /**
+     * Textos nuevos de un commit, pendientes de incorporarse al almacén.
+     */
+    final class Staging {
+
+        private final Map<String, String> added = new HashMap<>();
+        private long stagedReferencedChars;
+        private long stagedStoredChars;
+        private boolean committed;
+
+        private Staging() {
+        }
+
+        /**
+         * Retorna el producto con sus textos largos reemplazados por las instancias guardadas o preparadas.
+         * Si el producto ya usa esas instancias se retorna el mismo; en otro caso se retorna una copia y el
+         * original no se modifica.
+         *
+         * @param product el producto a deduplicar
+         * @return el producto con los textos compartidos
+         */
+        Product deduplicate(Product product) {
+            String imageUrl = intern(product.getImageUrl());
+            String description = intern(product.getDescription());
+            String specifications = intern(product.getSpecifications());
+            if (imageUrl == product.getImageUrl() && description == product.getDescription()
+                    && specifications == product.getSpecifications()) {
+                return product;
+            }
+            return product.toBuilder()
+                    .imageUrl(imageUrl)
+                    .description(description)
+                    .specifications(specifications)
+                    .build();
+        }
+
+        /**
+         * Incorpora al almacén los textos nuevos y los contadores de este commit. Solo tiene efecto la
+         * primera vez.
+         */
+        void commit() {
+            if (committed) {
+                return;
+            }
+            committed = true;
+            contents.putAll(added);
+            storedChars += stagedStoredChars;
+            referencedChars += stagedReferencedChars;
+        }
+
+        private String intern(String text) {
+            if (text == null) {
+                return null;
+            }
+            stagedReferencedChars += text.length();
+            String stored = contents.get(text);
+            if (stored != null) {
+                return stored;
+            }
+            stored = added.putIfAbsent(text, text);
+            if (stored != null) {
+                return stored;
+            }
+            stagedStoredChars += text.length();
+            return text;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package co.com.ml.json;
+
+import co.com.ml.json.JsonStorageProperties.Durability;
+import co.com.ml.model.exceptions.ProductRepositoryException;
+import co.com.ml.model.product.Product;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Canal único de escritura del catálogo con commit agrupado.
+ * Al iniciar, el hilo escritor carga el catálogo desde el almacenamiento y lo publica; las escrituras
+ * recibidas mientras tanto esperan en la cola.
+ * <p>
+ * Las escrituras concurrentes se encolan y un solo hilo las combina en un lote que se persiste con una
+ * única escritura al almacenamiento; cada solicitud se confirma cuando su lote queda comprometido según
+ * la durabilidad configurada. Tras persistir el lote se publica la nueva vista del catálogo.
+ */
+class GroupCommitWriter implements Closeable {
+
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String CLOSED_MESSAGE = "El almacenamiento del catálogo está cerrado";
+
+    private final CatalogStorage storage;
+    private final AtomicReference<CatalogSnapshot> catalog;
+    private final Durability durability;
+    private final long syncIntervalNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSize;
+    private final Timer commitLatency;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+    private final Thread writerThread;
+    private final Object lifecycle = new Object();
+    private volatile boolean running = true;
+
+    private boolean unsynced;
+    private long lastSync = System.nanoTime();
+
+    GroupCommitWriter(CatalogStorage storage, AtomicReference<CatalogSnapshot> catalog, Durability durability,
+                      Duration syncInterval, int maxBatchSize, MeterRegistry meterRegistry) {
+        this.storage = storage;
+        this.catalog = catalog;
+        this.durability = durability;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchSize = DistributionSummary.builder("catalog.commit.batch.size")
+                .description("Cantidad de productos persistidos por commit")
+                .baseUnit("products")
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("catalog.commit.latency")
+                .description("Tiempo de persistencia de cada lote del catálogo")
+                .tag("durability", durability.name())
+                .register(meterRegistry);
+        this.writerThread = new Thread(this::run, "catalog-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Indica si el catálogo ya fue cargado y publicado.
+     */
+    boolean isLoaded() {
+        return loaded.isDone() && !loaded.isCompletedExceptionally();
+    }
+
+    /**
+     * Retorna el error con el que falló la carga del catálogo, o null si terminó bien o sigue en curso.
+     */
+    Throwable loadFailure() {
+        if (!loaded.isCompletedExceptionally()) {
+            return null;
+        }
+        try {
+            loaded.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    /**
+     * Espera a que el catálogo termine de cargarse.
+     *
+     * @throws java.util.concurrent.CompletionException si la carga falló
+     */
+    void awaitLoaded() {
+        loaded.join();
+    }
+
+    /**
+     * Encola productos para el próximo commit.
+     *
+     * @param products productos a persistir
+     * @return futuro que se completa cuando el lote que los contiene queda comprometido, o que falla si el
+     * escritor ya se detuvo
+     */
+    CompletableFuture<Void> submit(List<Product> products) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (lifecycle) {
+            if (running) {
+                queue.add(new PendingWrite(products, done));
+                return done;
+            }
+        }
+        done.completeExceptionally(new ProductRepositoryException(CLOSED_MESSAGE));
+        return done;
+    }
+
+    /**
+     * Detiene el hilo de escritura después de comprometer las escrituras pendientes.
+     */
+    @Override
+    public void close() throws IOException {
+        stop();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending(new ProductRepositoryException(CLOSED_MESSAGE));
+        storage.sync();
+    }
+
+    private void run() {
+        Exception failure = new ProductRepositoryException(CLOSED_MESSAGE);
+        try {
+            catalog.set(CatalogSnapshot.of(storage.load()));
+            loaded.complete(null);
+            commitUntilStopped();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            loaded.completeExceptionally(e);
+        } finally {
+            stop();
+            failPending(failure);
+        }
+    }
+
+    /**
+     * Deja de aceptar escrituras. Como {@link #submit} encola bajo el mismo candado, después de esta llamada
+     * la cola ya no recibe elementos nuevos y vaciarla no deja ninguna escritura sin respuesta.
+     */
+    private void stop() {
+        synchronized (lifecycle) {
+            running = false;
+        }
+    }
+
+    private void failPending(Exception failure) {
+        List<PendingWrite> rejected = new ArrayList<>();
+        queue.drainTo(rejected);
+        rejected.forEach(write -> write.done().completeExceptionally(failure));
+    }
+
+    private void commitUntilStopped() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        long pollNanos = syncIntervalNanos > 0 ? Math.min(syncIntervalNanos, MAX_POLL_NANOS) : MAX_POLL_NANOS;
+        while (running || !queue.isEmpty()) {
+            PendingWrite first;
+            try {
+                first = queue.poll(pollNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+                batch.clear();
+            }
+            syncIfDue();
+        }
+    }
+
+    /**
+     * Persiste el lote. Si la escritura falla, el almacenamiento la deshace y el lote se rechaza. Una vez
+     * escrito, el lote se publica y se confirma aunque falle la sincronización a disco: los productos ya
+     * están en el almacenamiento y reaparecerían al reiniciar, así que rechazarlos dejaría al catálogo en
+     * memoria sin datos que sí están persistidos. La sincronización fallida se reintenta en el hilo escritor.
+     */
+    private void commit(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        List<Product> added = new ArrayList<>();
+        batch.forEach(write -> added.addAll(write.products()));
+        try {
+            CatalogSnapshot next = catalog.get().withProducts(added);
+            storage.write(added, next.products());
+            next.publish();
+            catalog.set(next);
+        } catch (IOException | RuntimeException e) {
+            record(added.size(), start);
+            batch.forEach(write -> write.done().completeExceptionally(e));
+            return;
+        }
+        unsynced = true;
+        if (durability == Durability.FSYNC_PER_BATCH) {
+            sync();
+        }
+        record(added.size(), start);
+        batch.forEach(write -> write.done().complete(null));
+    }
+
+    private void record(int products, long start) {
+        batchSize.record(products);
+        commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void syncIfDue() {
+        if (!unsynced || durability == Durability.OS_BUFFERED
+                || durability == Durability.FSYNC_INTERVAL && System.nanoTime() - lastSync < syncIntervalNanos) {
+            return;
+        }
+        sync();
+    }
+
+    private void sync() {
+        try {
+            storage.sync();
+            unsynced = false;
+            lastSync = System.nanoTime();
+        } catch (IOException e) {
+            // se reintenta en la siguiente iteración del hilo de escritura
+        }
+    }
+
+    private record PendingWrite(List<Product> products, CompletableFuture<Void> done) {
+    }
+}
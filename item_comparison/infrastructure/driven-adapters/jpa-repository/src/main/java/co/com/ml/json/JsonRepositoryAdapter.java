@@ -1,71 +1,205 @@
 package co.com.ml.json;
 
+import co.com.ml.model.product.PageCursor;
 import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
 import co.com.ml.model.product.gateways.ProductRepository;
 import co.com.ml.model.exceptions.ProductRepositoryException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+/**
+ * Adaptador de persistencia sobre el archivo products.json.
+ * El catálogo se carga una sola vez en segundo plano al iniciar y se mantiene residente en memoria
+ * como una vista inmutable indexada por ID; mientras termina de cargarse, las comparaciones se
+ * resuelven leyendo el archivo en modo streaming con salida anticipada. Las escrituras se agrupan
+ * en un único hilo escritor que las persiste según el modo de almacenamiento y la durabilidad
+ * configurados y publica atómicamente una nueva vista. Es el adaptador por defecto
+ * ({@code adapters.repository=json}).
+ * <p>
+ * Si la carga en segundo plano falla, la instancia deja de estar lista (ver {@link CatalogLoadHealthIndicator}).
+ * <p>
+ * Los textos largos repetidos entre productos se guardan una sola vez, tanto en memoria como en el archivo
+ * (ver {@link CatalogFiles}); la métrica {@code catalog.dedup.ratio} publica cuánto texto se comparte.
+ */
 @Repository
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "adapters.repository", havingValue = "json", matchIfMissing = true)
 public class JsonRepositoryAdapter implements ProductRepository {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final File file = new File("products.json");
+    private final CatalogStorage storage;
+    private final AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>(CatalogSnapshot.empty());
+    private final GroupCommitWriter writer;
+
+    @Autowired
+    public JsonRepositoryAdapter(JsonStorageProperties properties, MeterRegistry meterRegistry) {
+        this(storageFor(properties), properties, meterRegistry);
+    }
+
+    JsonRepositoryAdapter(CatalogStorage storage, JsonStorageProperties properties, MeterRegistry meterRegistry) {
+        this.storage = storage;
+        this.writer = new GroupCommitWriter(storage, catalog, properties.getDurability(),
+                properties.getSyncInterval(), properties.getMaxBatchSize(), meterRegistry);
+        Gauge.builder("catalog.dedup.ratio", catalog, current -> current.get().deduplicationRatio())
+                .description("Texto referenciado por los productos sobre texto guardado en memoria")
+                .register(meterRegistry);
+    }
+
+    private static CatalogStorage storageFor(JsonStorageProperties properties) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path file = Path.of(properties.getFile());
+        return switch (properties.getStorageMode()) {
+            case APPEND_LOG -> new AppendLogStorage(objectMapper, file, Path.of(properties.getLogFile()),
+                    properties.getCompactionThreshold());
+            case SNAPSHOT -> new SnapshotFileStorage(objectMapper, file);
+        };
+    }
+
+    /**
+     * Retorna el error con el que falló la carga en segundo plano del catálogo, o null si no falló.
+     * Mientras la carga está en curso retorna null.
+     */
+    public Throwable loadFailure() {
+        return writer.loadFailure();
+    }
+
+    /**
+     * Libera los recursos del almacenamiento al detener el adaptador.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        writer.close();
+        storage.close();
+    }
 
     @Override
     public Product addProduct(Product product) {
         try {
-            List<Product> products = loadProducts();
-            products.add(product);
-            saveProducts(products);
+            writer.submit(Collections.singletonList(product)).join();
             return product;
-        } catch (IOException e) {
-            throw new ProductRepositoryException("Error al guardar el producto", e);
+        } catch (CompletionException e) {
+            throw new ProductRepositoryException("Error al guardar el producto", e.getCause());
         }
     }
 
+    /**
+     * Envía todo el lote al escritor como una sola escritura, que se persiste en un único commit.
+     */
     @Override
-    public List<Product> listAllProducts() {
+    public List<Product> addProducts(List<Product> products) {
         try {
-            return loadProducts();
-        } catch (IOException e) {
-            throw new ProductRepositoryException("Error al listar los productos", e);
+            writer.submit(products).join();
+            return products;
+        } catch (CompletionException e) {
+            throw new ProductRepositoryException("Error al guardar los productos", e.getCause());
         }
     }
 
     @Override
-    public List<Product> compareProducts(List<String> productIds) {
+    public List<Product> listAllProducts() {
+        return loadedCatalog().products();
+    }
 
+    @Override
+    public List<Product> compareProducts(List<String> productIds) {
+        if (writer.isLoaded() || productIds == null || productIds.isEmpty()) {
+            return catalog.get().findAll(productIds);
+        }
         try {
-            List<Product> all = loadProducts();
-            return all.stream().filter(p -> productIds.contains(p.getId()))
+            Set<String> requested = new LinkedHashSet<>(productIds);
+            requested.remove(null);
+            Map<String, Product> found = storage.find(requested);
+            return requested.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
                     .toList();
         } catch (IOException e) {
             throw new ProductRepositoryException("Error al cargar productos para comparación", e);
         }
     }
 
-    private List<Product> loadProducts() throws IOException {
-        if (!file.exists() || file.length() == 0) {
-            return new ArrayList<>();
+    /**
+     * Recorre el catálogo residente directamente, sin copiarlo.
+     */
+    @Override
+    public void forEachProduct(Consumer<Product> consumer) {
+        loadedCatalog().products().forEach(consumer);
+    }
+
+    /**
+     * Pagina sobre el catálogo residente; el cursor es la posición del primer producto de la página, que es
+     * estable porque el catálogo solo crece al final.
+     */
+    @Override
+    public ProductPage listProducts(String cursor, int limit) {
+        CatalogSnapshot snapshot = loadedCatalog();
+        long position = PageCursor.decode(cursor);
+        if (position > snapshot.size()) {
+            throw PageCursor.invalid();
+        }
+        List<Product> products = snapshot.page((int) position, limit);
+        long next = position + products.size();
+        return ProductPage.builder()
+                .products(products)
+                .nextCursor(next < snapshot.size() ? PageCursor.encode(next) : null)
+                .build();
+    }
+
+    /**
+     * La versión es el tamaño de la vista publicada, que solo crece al confirmar cada lote.
+     */
+    @Override
+    public long catalogVersion() {
+        return catalog.get().size();
+    }
+
+    /**
+     * Filtra sobre las columnas del catálogo residente a partir de la posición del cursor; se busca un
+     * producto más que el límite para saber dónde empieza la página siguiente.
+     */
+    @Override
+    public ProductPage findProductsInRange(Double minPrice, Double maxPrice, Double minRating,
+                                           String cursor, int limit) {
+        CatalogSnapshot snapshot = loadedCatalog();
+        long position = PageCursor.decode(cursor);
+        if (position > snapshot.size()) {
+            throw PageCursor.invalid();
         }
-        return objectMapper.readValue(file, new TypeReference<>() {
-        });
+        int[] rows = snapshot.rowsInRange(minPrice, maxPrice, minRating, (int) position, limit + 1);
+        List<Product> products = new ArrayList<>(Math.min(rows.length, limit));
+        for (int i = 0; i < rows.length && i < limit; i++) {
+            products.add(snapshot.get(rows[i]));
+        }
+        return ProductPage.builder()
+                .products(products)
+                .nextCursor(rows.length > limit ? PageCursor.encode(rows[limit]) : null)
+                .build();
     }
 
-    private void saveProducts(List<Product> products) throws IOException {
-        if (!file.exists()) {
-            file.createNewFile();
+    private CatalogSnapshot loadedCatalog() {
+        try {
+            writer.awaitLoaded();
+            return catalog.get();
+        } catch (CompletionException e) {
+            throw new ProductRepositoryException("Error al cargar el catálogo de productos", e.getCause());
         }
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, products);
     }
 
 }
@@ -0,0 +1,81 @@
+package co.com.ml.json;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del almacenamiento del catálogo en archivos JSON.
+ */
+@Data
+@ConfigurationProperties(prefix = "adapters.json")
+public class JsonStorageProperties {
+
+    /**
+     * Archivo con el catálogo completo en formato JSON.
+     */
+    private String file = "products.json";
+
+    /**
+     * Modo de almacenamiento de las escrituras.
+     */
+    private StorageMode storageMode = StorageMode.SNAPSHOT;
+
+    /**
+     * Archivo de log de escrituras, usado en el modo APPEND_LOG.
+     */
+    private String logFile = "products.log";
+
+    /**
+     * Cantidad de registros en el log a partir de la cual se compacta en el archivo del catálogo.
+     */
+    private int compactionThreshold = 10000;
+
+    /**
+     * Garantía de durabilidad de las escrituras confirmadas.
+     */
+    private Durability durability = Durability.FSYNC_PER_BATCH;
+
+    /**
+     * Intervalo máximo entre sincronizaciones a disco, usado con la durabilidad FSYNC_INTERVAL.
+     */
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    /**
+     * Cantidad máxima de escrituras concurrentes que se agrupan en un mismo commit.
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * Modos de almacenamiento soportados.
+     */
+    public enum StorageMode {
+        /**
+         * Reescribe el archivo completo del catálogo en cada escritura.
+         */
+        SNAPSHOT,
+        /**
+         * Agrega cada escritura como un registro al final del log y lo reproduce al iniciar.
+         */
+        APPEND_LOG
+    }
+
+    /**
+     * Garantías de durabilidad soportadas por el commit agrupado.
+     */
+    public enum Durability {
+        /**
+         * Sincroniza a disco cada lote antes de confirmar las escrituras.
+         */
+        FSYNC_PER_BATCH,
+        /**
+         * Confirma al escribir en el sistema operativo y sincroniza a disco periódicamente.
+         */
+        FSYNC_INTERVAL,
+        /**
+         * Confirma al escribir en el sistema operativo y delega la sincronización en él.
+         */
+        OS_BUFFERED
+    }
+}
@@ -0,0 +1,105 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnas primitivas de precio y calificación alineadas fila a fila con la lista de productos del catálogo,
+ * guardadas en bloques de solo agregado como los de {@link ChunkedArray}.
+ * Los valores ausentes se guardan como {@code NaN}. Los filtros por rango recorren los arreglos de forma
+ * secuencial y retornan los números de fila que cumplen, sin visitar los objetos de producto.
+ */
+final class NumericColumns {
+
+    private static final NumericColumns EMPTY = new NumericColumns(new double[0][], new double[0][], 0);
+
+    private final double[][] prices;
+    private final double[][] ratings;
+    private final int size;
+
+    private NumericColumns(double[][] prices, double[][] ratings, int size) {
+        this.prices = prices;
+        this.ratings = ratings;
+        this.size = size;
+    }
+
+    static NumericColumns empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Crea columnas con las filas actuales seguidas de las de los productos agregados. Igual que
+     * {@link ChunkedArray}, escribe a continuación en los mismos bloques sin copiar las filas existentes;
+     * la instancia actual no cambia.
+     */
+    NumericColumns append(List<Product> added) {
+        int capacity = size + added.size();
+        double[][] nextPrices = withCapacity(prices, size, capacity);
+        double[][] nextRatings = withCapacity(ratings, size, capacity);
+        int row = size;
+        for (Product product : added) {
+            int chunk = row >>> ChunkedArray.CHUNK_SHIFT;
+            int offset = row & ChunkedArray.CHUNK_MASK;
+            nextPrices[chunk][offset] = valueOf(product.getPrice());
+            nextRatings[chunk][offset] = valueOf(product.getRating());
+            row++;
+        }
+        return new NumericColumns(nextPrices, nextRatings, capacity);
+    }
+
+    /**
+     * Retorna hasta {@code limit} filas, a partir de la fila {@code from}, cuyo precio está en
+     * {@code [minPrice, maxPrice]} y cuya calificación es al menos {@code minRating}. Un límite nulo no filtra
+     * esa columna. El recorrido se detiene al completar el límite.
+     *
+     * @return números de fila en orden ascendente
+     */
+    int[] rowsInRange(Double minPrice, Double maxPrice, Double minRating, int from, int limit) {
+        boolean filterPrice = minPrice != null || maxPrice != null;
+        double low = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice;
+        double high = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice;
+        boolean filterRating = minRating != null;
+        double minimumRating = minRating == null ? Double.NEGATIVE_INFINITY : minRating;
+
+        int[] rows = new int[Math.max(0, Math.min(limit, size - from))];
+        int count = 0;
+        int row = from;
+        while (row < size && count < rows.length) {
+            double[] chunkPrices = prices[row >>> ChunkedArray.CHUNK_SHIFT];
+            double[] chunkRatings = ratings[row >>> ChunkedArray.CHUNK_SHIFT];
+            int chunkStart = row & ~ChunkedArray.CHUNK_MASK;
+            int length = Math.min(ChunkedArray.CHUNK_SIZE, size - chunkStart);
+            for (int i = row - chunkStart; i < length && count < rows.length; i++) {
+                if (filterPrice && !(chunkPrices[i] >= low && chunkPrices[i] <= high)) {
+                    continue;
+                }
+                if (filterRating && !(chunkRatings[i] >= minimumRating)) {
+                    continue;
+                }
+                rows[count++] = chunkStart + i;
+            }
+            row = chunkStart + length;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private static double[][] withCapacity(double[][] chunks, int from, int capacity) {
+        int needed = (capacity + ChunkedArray.CHUNK_MASK) >>> ChunkedArray.CHUNK_SHIFT;
+        double[][] next = chunks;
+        if (needed > chunks.length) {
+            next = Arrays.copyOf(chunks, Math.max(needed, chunks.length * 2));
+        }
+        for (int chunk = from >>> ChunkedArray.CHUNK_SHIFT; chunk < needed; chunk++) {
+            if (next[chunk] == null) {
+                next[chunk] = new double[ChunkedArray.CHUNK_SIZE];
+            }
+        }
+        return next;
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
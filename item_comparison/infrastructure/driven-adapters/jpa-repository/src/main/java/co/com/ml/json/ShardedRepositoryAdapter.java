@@ -0,0 +1,325 @@
+package co.com.ml.json;
+
+import co.com.ml.model.exceptions.ProductRepositoryException;
+import co.com.ml.model.product.PageCursor;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import co.com.ml.model.product.gateways.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador de persistencia sobre un catálogo JSON particionado en N archivos por hash del ID.
+ * Cada partición tiene su propio candado y su propio índice en memoria, de modo que las escrituras
+ * a particiones distintas no se bloquean entre sí y las comparaciones solo consultan las particiones
+ * que contienen los IDs solicitados. Se activa con {@code adapters.repository=sharded}.
+ * <p>
+ * El listado completo recorre las particiones en orden, por lo que no conserva el orden global de inserción.
+ * <p>
+ * La inicialización y la redistribución escriben todas las particiones en un directorio de preparación
+ * ({@code <directorio>.tmp}) que luego reemplaza al de particiones con dos renombrados atómicos, pasando por
+ * un directorio de respaldo ({@code <directorio>.old}). Una interrupción en cualquier punto deja el catálogo
+ * anterior o el nuevo completos, y al iniciar se termina o se descarta el intercambio pendiente.
+ */
+@Repository
+@ConditionalOnProperty(name = "adapters.repository", havingValue = "sharded")
+public class ShardedRepositoryAdapter implements ProductRepository {
+
+    private static final Pattern SHARD_FILE = Pattern.compile("products-(\\d+)\\.json");
+    private static final String STAGING_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".old";
+
+    private final ShardedStorageProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+    private final Path staging;
+    private final Path backup;
+    private final CatalogShard[] shards;
+
+    public ShardedRepositoryAdapter(ShardedStorageProperties properties) {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+        this.staging = directory.resolveSibling(directory.getFileName() + STAGING_SUFFIX);
+        this.backup = directory.resolveSibling(directory.getFileName() + BACKUP_SUFFIX);
+        this.shards = new CatalogShard[Math.max(1, properties.getShards())];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new CatalogShard(new SnapshotFileStorage(objectMapper, shardFile(i)));
+        }
+    }
+
+    /**
+     * Carga las particiones al iniciar. Si no existe ninguna se inicializan con el catálogo JSON
+     * configurado; si la cantidad de particiones cambió, el catálogo se redistribuye.
+     */
+    @PostConstruct
+    public void loadShards() {
+        try {
+            recoverRedistribution();
+            Files.createDirectories(directory);
+            Map<Integer, Path> existing = existingShardFiles();
+            if (existing.isEmpty()) {
+                redistribute(CatalogFiles.read(objectMapper, Path.of(properties.getSeedFile())));
+                return;
+            }
+            List<Product> all = new ArrayList<>();
+            boolean misplaced = false;
+            for (int i = 0; i < shards.length; i++) {
+                for (Product product : shards[i].load()) {
+                    misplaced |= shardOf(product.getId()) != i;
+                    all.add(product);
+                }
+            }
+            for (Map.Entry<Integer, Path> entry : existing.entrySet()) {
+                if (entry.getKey() >= shards.length) {
+                    all.addAll(CatalogFiles.read(objectMapper, entry.getValue()));
+                    misplaced = true;
+                }
+            }
+            if (misplaced) {
+                redistribute(all);
+            }
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al cargar las particiones del catálogo", e);
+        }
+    }
+
+    @Override
+    public Product addProduct(Product product) {
+        try {
+            shards[shardOf(product.getId())].add(Collections.singletonList(product));
+            return product;
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al guardar el producto", e);
+        }
+    }
+
+    /**
+     * Agrupa el lote por partición y lo persiste con una escritura por partición involucrada. Las particiones
+     * se escriben en orden de número y el lote se confirma completo o no se confirma (ver
+     * {@link CatalogShard#addAll(List, List)}).
+     */
+    @Override
+    public List<Product> addProducts(List<Product> products) {
+        Map<Integer, List<Product>> productsByShard = new TreeMap<>();
+        for (Product product : products) {
+            productsByShard.computeIfAbsent(shardOf(product.getId()), shard -> new ArrayList<>()).add(product);
+        }
+        List<CatalogShard> involved = productsByShard.keySet().stream().map(shard -> shards[shard]).toList();
+        try {
+            CatalogShard.addAll(involved, new ArrayList<>(productsByShard.values()));
+            return products;
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Error al guardar los productos", e);
+        }
+    }
+
+    @Override
+    public List<Product> listAllProducts() {
+        List<Product> products = new ArrayList<>();
+        for (CatalogShard shard : shards) {
+            products.addAll(shard.products());
+        }
+        return products;
+    }
+
+    @Override
+    public List<Product> compareProducts(List<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<String> requested = new LinkedHashSet<>(productIds);
+        requested.remove(null);
+
+        Map<Integer, List<String>> idsByShard = new HashMap<>();
+        for (String productId : requested) {
+            idsByShard.computeIfAbsent(shardOf(productId), shard -> new ArrayList<>()).add(productId);
+        }
+        Map<String, Product> found = new HashMap<>();
+        idsByShard.forEach((shard, ids) ->
+                shards[shard].findAll(ids).forEach(product -> found.put(product.getId(), product)));
+
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void forEachProduct(Consumer<Product> consumer) {
+        for (CatalogShard shard : shards) {
+            shard.products().forEach(consumer);
+        }
+    }
+
+    /**
+     * Pagina recorriendo las particiones en orden; el cursor combina la partición y la posición dentro de ella.
+     */
+    @Override
+    public ProductPage listProducts(String cursor, int limit) {
+        long position = PageCursor.decode(cursor);
+        int shard = (int) (position >>> Integer.SIZE);
+        int row = (int) position;
+        if (shard >= shards.length || row < 0 || row > shards[shard].size()) {
+            throw PageCursor.invalid();
+        }
+        List<Product> products = new ArrayList<>(limit);
+        while (shard < shards.length && products.size() < limit) {
+            List<Product> page = shards[shard].snapshot().page(row, limit - products.size());
+            products.addAll(page);
+            row += page.size();
+            if (products.size() < limit) {
+                shard++;
+                row = 0;
+            }
+        }
+        while (shard < shards.length && row >= shards[shard].size()) {
+            shard++;
+            row = 0;
+        }
+        return ProductPage.builder()
+                .products(products)
+                .nextCursor(shard < shards.length ? PageCursor.encode((long) shard << Integer.SIZE | row) : null)
+                .build();
+    }
+
+    /**
+     * La versión es la suma de los tamaños de las particiones, cada uno de los cuales solo crece.
+     */
+    @Override
+    public long catalogVersion() {
+        long version = 0;
+        for (CatalogShard shard : shards) {
+            version += shard.size();
+        }
+        return version;
+    }
+
+    /**
+     * Filtra las particiones en orden a partir del cursor, que combina la partición y la posición dentro de
+     * ella como en {@link #listProducts(String, int)}.
+     */
+    @Override
+    public ProductPage findProductsInRange(Double minPrice, Double maxPrice, Double minRating,
+                                           String cursor, int limit) {
+        long position = PageCursor.decode(cursor);
+        int shard = (int) (position >>> Integer.SIZE);
+        int row = (int) position;
+        if (shard >= shards.length || row < 0 || row > shards[shard].size()) {
+            throw PageCursor.invalid();
+        }
+        List<Product> products = new ArrayList<>(limit);
+        for (; shard < shards.length; shard++, row = 0) {
+            CatalogSnapshot snapshot = shards[shard].snapshot();
+            int[] rows = snapshot.rowsInRange(minPrice, maxPrice, minRating, row, limit + 1 - products.size());
+            for (int found : rows) {
+                if (products.size() == limit) {
+                    return ProductPage.builder()
+                            .products(products)
+                            .nextCursor(PageCursor.encode((long) shard << Integer.SIZE | found))
+                            .build();
+                }
+                products.add(snapshot.get(found));
+            }
+        }
+        return ProductPage.builder().products(products).build();
+    }
+
+    /**
+     * Escribe y sincroniza todas las particiones en el directorio de preparación y lo intercambia con el de
+     * particiones: el actual pasa a ser el de respaldo, el de preparación pasa a ser el actual y al final se
+     * borra el respaldo. Luego carga las particiones desde sus nuevos archivos.
+     */
+    private void redistribute(List<Product> products) throws IOException {
+        List<List<Product>> partitions = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (Product product : products) {
+            partitions.get(shardOf(product.getId())).add(product);
+        }
+        deleteRecursively(staging);
+        Files.createDirectories(staging);
+        for (int i = 0; i < shards.length; i++) {
+            CatalogStorage storage = new SnapshotFileStorage(objectMapper, staging.resolve(shardFileName(i)));
+            storage.write(partitions.get(i), partitions.get(i));
+            storage.sync();
+        }
+        Files.move(directory, backup, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+        deleteRecursively(backup);
+        for (CatalogShard shard : shards) {
+            shard.load();
+        }
+    }
+
+    /**
+     * Termina o descarta una redistribución interrumpida. Si falta el directorio de particiones pero existe
+     * el de respaldo, la interrupción ocurrió entre los dos renombrados y el de preparación ya está completo,
+     * por lo que se termina el intercambio. En cualquier otro caso el directorio de particiones es el vigente
+     * y los de preparación y respaldo que hayan quedado se borran.
+     */
+    private void recoverRedistribution() throws IOException {
+        if (!Files.exists(directory) && Files.exists(backup)) {
+            Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+        }
+        deleteRecursively(staging);
+        deleteRecursively(backup);
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> entries = Files.walk(path)) {
+            for (Path entry : entries.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(entry);
+            }
+        }
+    }
+
+    private Map<Integer, Path> existingShardFiles() throws IOException {
+        Map<Integer, Path> files = new HashMap<>();
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.forEach(path -> {
+                Matcher matcher = SHARD_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Integer.parseInt(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+
+    private int shardOf(String productId) {
+        return Math.floorMod(productId == null ? 0 : productId.hashCode(), shards.length);
+    }
+
+    private Path shardFile(int shard) {
+        return directory.resolve(shardFileName(shard));
+    }
+
+    private static String shardFileName(int shard) {
+        return "products-" + shard + ".json";
+    }
+}
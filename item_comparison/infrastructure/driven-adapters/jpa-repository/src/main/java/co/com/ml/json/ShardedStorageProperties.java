@@ -0,0 +1,27 @@
+package co.com.ml.json;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del catálogo JSON particionado por hash del ID.
+ */
+@Data
+@ConfigurationProperties(prefix = "adapters.sharded")
+public class ShardedStorageProperties {
+
+    /**
+     * Directorio donde se guardan los archivos de cada partición.
+     */
+    private String directory = "catalog";
+
+    /**
+     * Cantidad de particiones; si cambia, el catálogo se redistribuye al iniciar.
+     */
+    private int shards = 8;
+
+    /**
+     * Catálogo JSON con el que se inicializan las particiones cuando no existe ninguna.
+     */
+    private String seedFile = "products.json";
+}
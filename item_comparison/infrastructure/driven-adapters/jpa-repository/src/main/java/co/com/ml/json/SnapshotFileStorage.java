@@ -0,0 +1,49 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Almacenamiento que reescribe el archivo completo del catálogo en cada escritura.
+ */
+@RequiredArgsConstructor
+class SnapshotFileStorage implements CatalogStorage {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    @Override
+    public List<Product> load() throws IOException {
+        return CatalogFiles.read(objectMapper, file);
+    }
+
+    @Override
+    public Map<String, Product> find(Set<String> productIds) throws IOException {
+        return StreamingProductLookup.find(objectMapper, file, productIds);
+    }
+
+    @Override
+    public void write(List<Product> added, List<Product> catalog) throws IOException {
+        CatalogFiles.writeAtomically(objectMapper, file, catalog);
+    }
+
+    @Override
+    public void sync() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Búsqueda de productos por ID recorriendo el catálogo JSON a nivel de tokens.
+ * Los registros cuyo ID no fue solicitado se saltan sin enlazarlos a objetos y la lectura se
+ * detiene en cuanto se encuentran todos los IDs solicitados, por lo que el costo depende de la
+ * posición de los productos buscados y no del tamaño total del archivo.
+ * <p>
+ * En el formato con contenidos deduplicados (ver {@link CatalogFiles}) se leen primero los contenidos
+ * guardados y luego se recorre el arreglo de productos, resolviendo sus referencias.
+ */
+final class StreamingProductLookup {
+
+    private static final String ID = "id";
+    private static final TypeReference<Map<String, String>> CONTENTS_TYPE = new TypeReference<>() {
+    };
+
+    private StreamingProductLookup() {
+    }
+
+    /**
+     * Busca los productos con los IDs indicados en un archivo del catálogo.
+     *
+     * @param objectMapper mapper con el que se crea el parser
+     * @param file archivo del catálogo
+     * @param productIds IDs a buscar
+     * @return productos encontrados por ID, en el orden del archivo
+     * @throws IOException si ocurre un error de lectura
+     */
+    static Map<String, Product> find(ObjectMapper objectMapper, Path file, Set<String> productIds) throws IOException {
+        Map<String, Product> found = new LinkedHashMap<>();
+        if (productIds.isEmpty() || !Files.exists(file) || Files.size(file) == 0) {
+            return found;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(file.toFile())) {
+            Map<String, String> contents = Collections.emptyMap();
+            JsonToken root = parser.nextToken();
+            if (root == JsonToken.START_OBJECT) {
+                contents = readUntilProducts(parser);
+            } else if (root != JsonToken.START_ARRAY) {
+                return found;
+            }
+            if (!parser.hasToken(JsonToken.START_ARRAY)) {
+                return found;
+            }
+            while (found.size() < productIds.size() && parser.nextToken() == JsonToken.START_OBJECT) {
+                Product product = readIfRequested(parser, productIds, contents);
+                if (product != null) {
+                    found.putIfAbsent(product.getId(), product);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Avanza por el objeto raíz hasta el inicio del arreglo de productos, leyendo los contenidos guardados.
+     *
+     * @return contenidos guardados por dirección
+     */
+    private static Map<String, String> readUntilProducts(JsonParser parser) throws IOException {
+        Map<String, String> contents = Collections.emptyMap();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (CatalogFiles.PRODUCTS.equals(field) && value == JsonToken.START_ARRAY) {
+                return contents;
+            }
+            if (CatalogFiles.CONTENTS.equals(field) && value == JsonToken.START_OBJECT) {
+                contents = parser.readValueAs(CONTENTS_TYPE);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return contents;
+    }
+
+    /**
+     * Lee el objeto actual y lo retorna solo si su ID fue solicitado; en caso contrario salta el resto
+     * del objeto. Los campos previos al ID, si los hay, se conservan hasta conocerlo.
+     */
+    private static Product readIfRequested(JsonParser parser, Set<String> productIds, Map<String, String> contents)
+            throws IOException {
+        Product product = new Product();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (ID.equals(field)) {
+                String id = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                if (id == null || !productIds.contains(id)) {
+                    skipObject(parser);
+                    return null;
+                }
+                product.setId(id);
+            } else {
+                readField(parser, product, field, value, contents);
+            }
+        }
+        return product.getId() != null ? product : null;
+    }
+
+    private static void readField(JsonParser parser, Product product, String field, JsonToken value,
+                                  Map<String, String> contents) throws IOException {
+        if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        boolean isNull = value == JsonToken.VALUE_NULL;
+        switch (field) {
+            case "productName" -> product.setProductName(isNull ? null : parser.getText());
+            case "imageUrl" -> product.setImageUrl(isNull ? null : parser.getText());
+            case "description" -> product.setDescription(isNull ? null : parser.getText());
+            case "specifications" -> product.setSpecifications(isNull ? null : parser.getText());
+            case "imageUrlRef" -> product.setImageUrl(isNull ? null : reference(parser, contents));
+            case "descriptionRef" -> product.setDescription(isNull ? null : reference(parser, contents));
+            case "specificationsRef" -> product.setSpecifications(isNull ? null : reference(parser, contents));
+            case "price" -> product.setPrice(isNull ? null : parser.getValueAsDouble());
+            case "rating" -> product.setRating(isNull ? null : parser.getValueAsDouble());
+            default -> {
+                // campo desconocido: se ignora
+            }
+        }
+    }
+
+    private static String reference(JsonParser parser, Map<String, String> contents) throws IOException {
+        return CatalogFiles.resolve(contents, parser.getText());
+    }
+
+    private static void skipObject(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_OBJECT && token != null) {
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package co.com.ml.binary;
+
+import co.com.ml.model.exceptions.ProductValidationException;
+import co.com.ml.model.product.PageCursor;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para BinaryRepositoryAdapter")
+class BinaryRepositoryAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BinaryRepositoryAdapter openAdapter() {
+        BinaryStorageProperties properties = new BinaryStorageProperties();
+        properties.setSegmentFile(tempDir.resolve("products.seg").toString());
+        properties.setIndexFile(tempDir.resolve("products.idx").toString());
+        properties.setSeedFile(tempDir.resolve("products.json").toString());
+        BinaryRepositoryAdapter adapter = new BinaryRepositoryAdapter(properties, meterRegistry);
+        adapter.open();
+        return adapter;
+    }
+
+    private static Product product(String id) {
+        return Product.builder()
+                .id(id)
+                .productName("Producto " + id)
+                .imageUrl("https://example.com/" + id + ".jpg")
+                .description("Descripción del producto " + id)
+                .price(100.0)
+                .rating(null)
+                .specifications("{\"ram\": \"8GB\"}")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debería guardar y comparar productos por ID")
+    void shouldSaveAndCompareProductsById() throws IOException {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        adapter.addProduct(product("1"));
+        adapter.addProduct(product("2"));
+        adapter.addProduct(product("3"));
+
+        // Act
+        List<Product> result = adapter.compareProducts(Arrays.asList("3", "1", "99"));
+        adapter.close();
+
+        // Assert
+        assertEquals(Arrays.asList(product("3"), product("1")), result);
+        assertNull(result.get(0).getRating());
+    }
+
+    @Test
+    @DisplayName("Debería recuperar el índice al reabrir el segmento")
+    void shouldRecoverIndexOnReopen() throws IOException {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        adapter.addProduct(product("1"));
+        adapter.addProduct(product("2"));
+        adapter.close();
+        Files.write(tempDir.resolve("products.idx"), new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+
+        // Act
+        BinaryRepositoryAdapter reopened = openAdapter();
+        List<Product> all = reopened.listAllProducts();
+        List<Product> compared = reopened.compareProducts(Arrays.asList("1", "2"));
+        reopened.close();
+
+        // Assert
+        assertEquals(2, all.size());
+        assertEquals(2, compared.size());
+    }
+
+    @Test
+    @DisplayName("Debería descartar una cola del segmento rellena con ceros al reabrir")
+    void shouldDiscardZeroFilledTailOnReopen() throws IOException {
+        // Arrange
+        Path segmentFile = tempDir.resolve("products.seg");
+        BinaryRepositoryAdapter adapter = openAdapter();
+        adapter.addProduct(product("1"));
+        adapter.close();
+        long validLength = Files.size(segmentFile);
+        Files.write(segmentFile, new byte[64], StandardOpenOption.APPEND);
+
+        // Act
+        BinaryRepositoryAdapter reopened = openAdapter();
+        reopened.addProduct(product("2"));
+        List<Product> result = reopened.listAllProducts();
+        reopened.close();
+
+        // Assert
+        assertEquals(Arrays.asList(product("1"), product("2")), result);
+        assertTrue(Files.size(segmentFile) > validLength);
+    }
+
+    @Test
+    @DisplayName("Debería truncar el segmento y el índice en el primer registro con CRC inválido")
+    void shouldTruncateAtFirstRecordWithInvalidChecksum() throws IOException {
+        // Arrange
+        Path segmentFile = tempDir.resolve("products.seg");
+        BinaryRepositoryAdapter adapter = openAdapter();
+        adapter.addProduct(product("1"));
+        adapter.addProduct(product("2"));
+        adapter.addProduct(product("3"));
+        adapter.close();
+        byte[] segment = Files.readAllBytes(segmentFile);
+        int secondRecord = 2 * Integer.BYTES + ProductRecordCodec.encode(product("1")).length;
+        segment[secondRecord + 2 * Integer.BYTES + 6] ^= 0x7f;
+        Files.write(segmentFile, segment);
+
+        // Act
+        BinaryRepositoryAdapter reopened = openAdapter();
+        List<Product> all = reopened.listAllProducts();
+        List<Product> compared = reopened.compareProducts(Arrays.asList("1", "2", "3"));
+        reopened.close();
+
+        // Assert
+        assertEquals(List.of(product("1")), all);
+        assertEquals(List.of(product("1")), compared);
+        assertEquals(secondRecord, Files.size(segmentFile));
+        assertEquals(2 * Long.BYTES, Files.size(tempDir.resolve("products.idx")));
+    }
+
+    @Test
+    @DisplayName("Debería inicializar el segmento desde el catálogo JSON")
+    void shouldSeedSegmentFromJsonCatalog() throws IOException {
+        // Arrange
+        Files.write(tempDir.resolve("products.json"),
+                "[{\"id\":\"10\",\"productName\":\"Teclado\",\"price\":120.99}]".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        BinaryRepositoryAdapter adapter = openAdapter();
+        List<Product> result = adapter.compareProducts(Arrays.asList("10", "11"));
+        adapter.close();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Teclado", result.get(0).getProductName());
+    }
+
+    @Test
+    @DisplayName("Debería reportar los bytes del segmento, los mapeados y los del índice en el heap")
+    void shouldReportSegmentMappedAndIndexBytes() throws IOException {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        adapter.addProduct(product("1"));
+        adapter.compareProducts(List.of("1"));
+
+        // Act
+        double segmentBytes = meterRegistry.get("catalog.segment.bytes").gauge().value();
+        double mappedBytes = meterRegistry.get("catalog.segment.mapped.bytes").gauge().value();
+        double indexBytes = meterRegistry.get("catalog.index.heap.bytes").gauge().value();
+        adapter.close();
+
+        // Assert
+        assertEquals(2 * Integer.BYTES + ProductRecordCodec.encode(product("1")).length, segmentBytes);
+        assertTrue(mappedBytes >= segmentBytes);
+        assertTrue(indexBytes > 0);
+    }
+
+    @Test
+    @DisplayName("Debería leer sin candados los productos publicados mientras se escribe")
+    void shouldReadPublishedProductsWhileWriting() throws IOException {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        AtomicInteger published = new AtomicInteger();
+        AtomicBoolean missing = new AtomicBoolean();
+
+        // Act: el índice crece varias veces mientras los lectores consultan lo ya publicado
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> IntStream.range(0, 3000).forEach(i -> {
+            adapter.addProduct(product("p" + i));
+            published.set(i + 1);
+        }));
+        List<CompletableFuture<Void>> readers = IntStream.range(0, 4)
+                .mapToObj(r -> CompletableFuture.runAsync(() -> {
+                    while (!writer.isDone()) {
+                        int last = published.get();
+                        if (last > 0 && adapter.compareProducts(List.of("p" + (last - 1))).isEmpty()) {
+                            missing.set(true);
+                        }
+                    }
+                }))
+                .toList();
+        writer.join();
+        readers.forEach(CompletableFuture::join);
+        int total = adapter.listAllProducts().size();
+        adapter.close();
+
+        // Assert
+        assertFalse(missing.get());
+        assertEquals(3000, total);
+    }
+
+    @Test
+    @DisplayName("Debería paginar el segmento con cursores y rechazar posiciones que no inician un registro")
+    void shouldPaginateSegmentWithCursors() {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        IntStream.range(0, 7).forEach(i -> adapter.addProduct(product("p" + i)));
+
+        // Act
+        ProductPage first = adapter.listProducts(null, 3);
+        ProductPage second = adapter.listProducts(first.getNextCursor(), 3);
+        ProductPage last = adapter.listProducts(second.getNextCursor(), 3);
+
+        // Assert
+        assertEquals(Arrays.asList("p0", "p1", "p2"), first.getProducts().stream().map(Product::getId).toList());
+        assertEquals(Arrays.asList("p3", "p4", "p5"), second.getProducts().stream().map(Product::getId).toList());
+        assertEquals(List.of("p6"), last.getProducts().stream().map(Product::getId).toList());
+        assertNull(last.getNextCursor());
+        assertThrows(ProductValidationException.class, () -> adapter.listProducts(PageCursor.encode(3), 3));
+    }
+
+    @Test
+    @DisplayName("Debería paginar la búsqueda por rango desde el primer producto que cumple después de la página")
+    void shouldPaginateRangeQueryWithCursors() {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        IntStream.range(0, 7).forEach(i -> adapter.addProduct(product("p" + i).toBuilder().price(i * 10.0).build()));
+
+        // Act
+        ProductPage first = adapter.findProductsInRange(15.0, 55.0, null, null, 2);
+        ProductPage last = adapter.findProductsInRange(15.0, 55.0, null, first.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(Arrays.asList("p2", "p3"), first.getProducts().stream().map(Product::getId).toList());
+        assertEquals(Arrays.asList("p4", "p5"), last.getProducts().stream().map(Product::getId).toList());
+        assertNull(last.getNextCursor());
+        assertThrows(ProductValidationException.class,
+                () -> adapter.findProductsInRange(15.0, 55.0, null, PageCursor.encode(3), 2));
+    }
+
+    @Test
+    @DisplayName("Debería recorrer todos los productos en orden de inserción")
+    void shouldVisitAllProductsInInsertionOrder() {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        IntStream.range(0, 5).forEach(i -> adapter.addProduct(product("p" + i)));
+        List<String> visited = new ArrayList<>();
+
+        // Act
+        adapter.forEachProduct(product -> visited.add(product.getId()));
+
+        // Assert
+        assertEquals(Arrays.asList("p0", "p1", "p2", "p3", "p4"), visited);
+    }
+
+    @Test
+    @DisplayName("Debería avanzar la versión del catálogo con cada producto agregado")
+    void shouldAdvanceCatalogVersionOnEachAdd() {
+        // Arrange
+        BinaryRepositoryAdapter adapter = openAdapter();
+        long initial = adapter.catalogVersion();
+
+        // Act
+        adapter.addProduct(product("p0"));
+        long afterFirst = adapter.catalogVersion();
+        adapter.listAllProducts();
+        long afterRead = adapter.catalogVersion();
+        adapter.addProduct(product("p1"));
+
+        // Assert
+        assertTrue(afterFirst > initial);
+        assertEquals(afterFirst, afterRead);
+        assertTrue(adapter.catalogVersion() > afterFirst);
+    }
+}
@@ -0,0 +1,54 @@
+package co.com.ml.binary;
+
+import co.com.ml.model.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ProductRecordView")
+class ProductRecordViewTest {
+
+    private static ByteBuffer offHeapRecord(Product product) {
+        byte[] encoded = ProductRecordCodec.encode(product);
+        return ByteBuffer.allocateDirect(encoded.length).put(encoded).flip();
+    }
+
+    @Test
+    @DisplayName("Debería leer los campos numéricos sin materializar el producto")
+    void shouldReadNumbersWithoutMaterializingProduct() {
+        // Arrange
+        ByteBuffer record = offHeapRecord(Product.builder().id("1").productName("Teclado")
+                .description(null).price(120.5).rating(null).build());
+
+        // Act
+        ProductRecordView view = new ProductRecordView().wrap(record);
+
+        // Assert
+        assertEquals(120.5, view.price());
+        assertNull(view.rating());
+        assertTrue(view.idEquals("1".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(view.idEquals("10".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(OffsetIndex.hash("1"), view.idHash());
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar la vista para varios registros")
+    void shouldReuseViewAcrossRecords() {
+        // Arrange
+        ProductRecordView view = new ProductRecordView();
+        Product first = Product.builder().id("á-1").productName("Uno").price(1.0).build();
+        Product second = Product.builder().id("2").productName("Dos").specifications("{\"ram\":\"8GB\"}").build();
+
+        // Act
+        Product firstRead = view.wrap(offHeapRecord(first)).toProduct();
+        Product secondRead = view.wrap(offHeapRecord(second)).toProduct();
+
+        // Assert
+        assertEquals(first, firstRead);
+        assertEquals(second, secondRead);
+    }
+}
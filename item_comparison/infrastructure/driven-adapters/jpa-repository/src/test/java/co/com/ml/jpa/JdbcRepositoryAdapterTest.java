@@ -0,0 +1,222 @@
+package co.com.ml.jpa;
+
+import co.com.ml.model.exceptions.ProductRepositoryException;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para JdbcRepositoryAdapter")
+class JdbcRepositoryAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private JdbcRepositoryAdapter openAdapter() {
+        return openAdapter(0);
+    }
+
+    private JdbcRepositoryAdapter openAdapter(long versionCacheMillis) {
+        JdbcStorageProperties properties = new JdbcStorageProperties();
+        properties.setBatchSize(4);
+        properties.setCacheSize(8);
+        properties.setVersionCacheMillis(versionCacheMillis);
+        properties.setSeedFile(tempDir.resolve("products.json").toString());
+        JdbcRepositoryAdapter adapter = new JdbcRepositoryAdapter(new NamedParameterJdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), properties);
+        adapter.initialize();
+        return adapter;
+    }
+
+    private static Product product(String id) {
+        return Product.builder().id(id).productName("Producto " + id).price(100.0).build();
+    }
+
+    @Test
+    @DisplayName("Debería inicializar la tabla desde el catálogo JSON")
+    void shouldSeedTableFromJsonCatalog() throws IOException {
+        // Arrange
+        Files.write(tempDir.resolve("products.json"),
+                "[{\"id\":\"1\",\"productName\":\"Uno\",\"rating\":4.5},{\"id\":\"2\",\"productName\":\"Dos\"}]"
+                        .getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        List<Product> products = openAdapter().listAllProducts();
+
+        // Assert
+        assertEquals(2, products.size());
+        assertEquals("Uno", products.get(0).getProductName());
+        assertEquals(4.5, products.get(0).getRating());
+        assertNull(products.get(1).getPrice());
+    }
+
+    @Test
+    @DisplayName("Debería comparar productos en el orden solicitado")
+    void shouldCompareProductsInRequestedOrder() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter();
+        adapter.insertAll(IntStream.range(0, 20).mapToObj(i -> product("p" + i)).toList());
+
+        // Act
+        List<Product> result = adapter.compareProducts(Arrays.asList("p17", "p3", "p99", "p17", null));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("p17", result.get(0).getId());
+        assertEquals("p3", result.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Debería revertir el lote completo cuando un ID está duplicado")
+    void shouldRollbackBatchWhenIdIsDuplicated() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter();
+        adapter.addProduct(product("1"));
+
+        // Act & Assert
+        assertThrows(ProductRepositoryException.class, () -> adapter.addProduct(product("1")));
+        assertThrows(RuntimeException.class, () -> adapter.insertAll(List.of(product("2"), product("1"))));
+        assertEquals(1, adapter.listAllProducts().size());
+    }
+
+    @Test
+    @DisplayName("Debería paginar por secuencia en orden de inserción")
+    void shouldPaginateBySequence() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter();
+        adapter.insertAll(IntStream.range(0, 5).mapToObj(i -> product("p" + i)).toList());
+
+        // Act
+        ProductPage first = adapter.listProducts(null, 2);
+        ProductPage second = adapter.listProducts(first.getNextCursor(), 2);
+        ProductPage last = adapter.listProducts(second.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(Arrays.asList("p0", "p1"), first.getProducts().stream().map(Product::getId).toList());
+        assertEquals(Arrays.asList("p2", "p3"), second.getProducts().stream().map(Product::getId).toList());
+        assertEquals(List.of("p4"), last.getProducts().stream().map(Product::getId).toList());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Debería paginar la búsqueda por rango por secuencia")
+    void shouldPaginateRangeQueryBySequence() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter();
+        adapter.insertAll(IntStream.range(0, 6).mapToObj(i -> product("p" + i).toBuilder().price(i * 10.0).build())
+                .toList());
+
+        // Act
+        ProductPage first = adapter.findProductsInRange(15.0, 45.0, null, null, 2);
+        ProductPage last = adapter.findProductsInRange(15.0, 45.0, null, first.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(Arrays.asList("p2", "p3"), first.getProducts().stream().map(Product::getId).toList());
+        assertEquals(List.of("p4"), last.getProducts().stream().map(Product::getId).toList());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Debería recorrer la tabla en orden de inserción")
+    void shouldVisitAllRowsInInsertionOrder() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter();
+        adapter.insertAll(Arrays.asList(product("b"), product("a"), product("c")));
+        List<String> visited = new ArrayList<>();
+
+        // Act
+        adapter.forEachProduct(product -> visited.add(product.getId()));
+
+        // Assert
+        assertEquals(Arrays.asList("b", "a", "c"), visited);
+    }
+
+    @Test
+    @DisplayName("Debería cambiar la versión con las filas insertadas por otra instancia")
+    void shouldChangeVersionWithRowsInsertedByAnotherInstance() {
+        // Arrange
+        JdbcRepositoryAdapter instanceA = openAdapter();
+        JdbcRepositoryAdapter instanceB = openAdapter();
+        long initial = instanceA.catalogVersion();
+
+        // Act
+        instanceB.addProduct(product("1"));
+
+        // Assert
+        assertTrue(instanceA.catalogVersion() > initial);
+        assertEquals(instanceB.catalogVersion(), instanceA.catalogVersion());
+    }
+
+    @Test
+    @DisplayName("Debería avanzar la versión solo con los lotes confirmados")
+    void shouldAdvanceVersionOnlyWithCommittedBatches() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter();
+        adapter.insertAll(Arrays.asList(product("1"), product("2")));
+        long committed = adapter.catalogVersion();
+
+        // Act
+        assertThrows(RuntimeException.class, () -> adapter.insertAll(List.of(product("3"), product("1"))));
+        long afterRollback = adapter.catalogVersion();
+        adapter.addProduct(product("3"));
+
+        // Assert
+        assertEquals(committed, afterRollback);
+        assertEquals(committed + 1, adapter.catalogVersion());
+    }
+
+    @Test
+    @DisplayName("Debería partir de la secuencia más alta al crear la versión sobre una tabla poblada")
+    void shouldStartVersionFromHighestSequenceOfExistingTable() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter();
+        adapter.insertAll(Arrays.asList(product("1"), product("2")));
+        new JdbcTemplate(dataSource).execute("DROP TABLE catalog_version");
+
+        // Act
+        long version = openAdapter().catalogVersion();
+
+        // Assert
+        assertEquals(new JdbcTemplate(dataSource).queryForObject("SELECT MAX(seq) FROM product", Long.class), version);
+    }
+
+    @Test
+    @DisplayName("Debería ver de inmediato las inserciones propias aunque la versión esté en caché")
+    void shouldSeeOwnInsertsImmediatelyWhenVersionIsCached() {
+        // Arrange
+        JdbcRepositoryAdapter adapter = openAdapter(60_000);
+        long initial = adapter.catalogVersion();
+
+        // Act
+        adapter.addProduct(product("1"));
+
+        // Assert
+        assertTrue(adapter.catalogVersion() > initial);
+    }
+}
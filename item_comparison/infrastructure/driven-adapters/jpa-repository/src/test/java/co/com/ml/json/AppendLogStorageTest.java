@@ -0,0 +1,308 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para AppendLogStorage")
+class AppendLogStorageTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private static Product product(String id) {
+        return Product.builder().id(id).productName("Producto " + id).price(100.0).rating(4.0).build();
+    }
+
+    private List<Product> writeProducts(AppendLogStorage storage, int count) throws IOException {
+        List<Product> catalog = new ArrayList<>(storage.load());
+        for (int i = 0; i < count; i++) {
+            Product product = product(String.valueOf(i));
+            catalog.add(product);
+            storage.write(Collections.singletonList(product), catalog);
+        }
+        storage.close();
+        return catalog;
+    }
+
+    @Test
+    @DisplayName("Debería reproducir el log al iniciar")
+    void shouldReplayLogOnLoad() throws IOException {
+        // Arrange
+        Path catalogFile = tempDir.resolve("products.json");
+        Path logFile = tempDir.resolve("products.log");
+        writeProducts(new AppendLogStorage(objectMapper, catalogFile, logFile, 100), 3);
+
+        // Act
+        AppendLogStorage reopened = new AppendLogStorage(objectMapper, catalogFile, logFile, 100);
+        List<Product> result = reopened.load();
+        reopened.close();
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("0", result.get(0).getId());
+        assertEquals("2", result.get(2).getId());
+        assertFalse(Files.exists(catalogFile));
+    }
+
+    @Test
+    @DisplayName("Debería descartar un registro final incompleto")
+    void shouldDiscardTornTailRecord() throws IOException {
+        // Arrange
+        Path catalogFile = tempDir.resolve("products.json");
+        Path logFile = tempDir.resolve("products.log");
+        writeProducts(new AppendLogStorage(objectMapper, catalogFile, logFile, 100), 2);
+        long validLength = Files.size(logFile);
+        Files.write(logFile, "0badc0de {\"id\":\"roto\"".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        // Act
+        AppendLogStorage reopened = new AppendLogStorage(objectMapper, catalogFile, logFile, 100);
+        List<Product> result = reopened.load();
+        reopened.close();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(validLength, Files.size(logFile));
+    }
+
+    @Test
+    @DisplayName("Debería compactar el log al superar el umbral")
+    void shouldCompactLogWhenThresholdIsReached() throws IOException {
+        // Arrange
+        Path catalogFile = tempDir.resolve("products.json");
+        Path logFile = tempDir.resolve("products.log");
+
+        // Act
+        writeProducts(new AppendLogStorage(objectMapper, catalogFile, logFile, 2), 3);
+        AppendLogStorage reopened = new AppendLogStorage(objectMapper, catalogFile, logFile, 2);
+        List<Product> result = reopened.load();
+        reopened.close();
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(2, CatalogFiles.read(objectMapper, catalogFile).size());
+    }
+
+    @Test
+    @DisplayName("Debería reproducir los productos con ID repetido igual que el catálogo en memoria")
+    void shouldReplayRepeatedIdsLikeResidentCatalog() throws IOException {
+        // Arrange
+        Path catalogFile = tempDir.resolve("products.json");
+        Path logFile = tempDir.resolve("products.log");
+        AppendLogStorage storage = new AppendLogStorage(objectMapper, catalogFile, logFile, 100);
+        List<Product> catalog = new ArrayList<>(storage.load());
+        for (Product product : List.of(product("1"), product("1"))) {
+            catalog.add(product);
+            storage.write(Collections.singletonList(product), catalog);
+        }
+        storage.close();
+
+        // Act
+        AppendLogStorage reopened = new AppendLogStorage(objectMapper, catalogFile, logFile, 100);
+        List<Product> result = reopened.load();
+        reopened.close();
+
+        // Assert
+        assertEquals(catalog, result);
+        assertEquals(CatalogSnapshot.of(catalog).size(), CatalogSnapshot.of(result).size());
+    }
+
+    @Test
+    @DisplayName("Debería descartar el log de una generación ya compactada en el catálogo")
+    void shouldDiscardLogOfCompactedGeneration() throws IOException {
+        // Arrange
+        Path catalogFile = tempDir.resolve("products.json");
+        Path logFile = tempDir.resolve("products.log");
+        List<Product> catalog = writeProducts(new AppendLogStorage(objectMapper, catalogFile, logFile, 100), 2);
+        CatalogFiles.writeAtomically(objectMapper, catalogFile, catalog, 1);
+
+        // Act
+        AppendLogStorage reopened = new AppendLogStorage(objectMapper, catalogFile, logFile, 100);
+        List<Product> result = reopened.load();
+        reopened.close();
+
+        // Assert
+        assertEquals(catalog, result);
+        assertEquals("#1\n", Files.readString(logFile, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Debería conservar la escritura en el log cuando la compactación falla")
+    void shouldKeepWriteInLogWhenCompactionFails() throws IOException {
+        // Arrange
+        Path catalogFile = tempDir.resolve("products.json");
+        Path logFile = tempDir.resolve("products.log");
+        Files.createDirectories(tempDir.resolve("products.json.tmp").resolve("ocupado"));
+
+        // Act
+        writeProducts(new AppendLogStorage(objectMapper, catalogFile, logFile, 1), 2);
+        AppendLogStorage reopened = new AppendLogStorage(objectMapper, catalogFile, logFile, 1);
+        List<Product> result = reopened.load();
+        reopened.close();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertFalse(Files.exists(catalogFile));
+    }
+
+    @Test
+    @DisplayName("Debería deshacer una escritura fallida para que el log siga siendo legible")
+    void shouldRollBackFailedWriteSoLogStaysReadable() throws IOException {
+        // Arrange
+        Path catalogFile = tempDir.resolve("products.json");
+        Path logFile = tempDir.resolve("products.log");
+        FailingChannel[] failing = new FailingChannel[1];
+        AppendLogStorage storage = new AppendLogStorage(objectMapper, catalogFile, logFile, 100) {
+            @Override
+            FileChannel openLog() throws IOException {
+                failing[0] = new FailingChannel(super.openLog());
+                return failing[0];
+            }
+        };
+        List<Product> catalog = new ArrayList<>(storage.load());
+        catalog.add(product("0"));
+        storage.write(Collections.singletonList(product("0")), catalog);
+
+        // Act
+        failing[0].failNextWrite = true;
+        assertThrows(IOException.class, () -> storage.write(Collections.singletonList(product("1")), catalog));
+        catalog.add(product("2"));
+        storage.write(Collections.singletonList(product("2")), catalog);
+        storage.close();
+        AppendLogStorage reopened = new AppendLogStorage(objectMapper, catalogFile, logFile, 100);
+        List<Product> result = reopened.load();
+        reopened.close();
+
+        // Assert
+        assertEquals(List.of("0", "2"), result.stream().map(Product::getId).toList());
+    }
+
+    /**
+     * Canal que, cuando se le indica, escribe solo unos bytes del buffer y luego falla, como un disco lleno.
+     */
+    private static class FailingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        private boolean failNextWrite;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                ByteBuffer partial = src.duplicate();
+                partial.limit(partial.position() + Math.min(5, partial.remaining()));
+                int written = delegate.write(partial);
+                src.position(src.position() + written);
+                throw new IOException("No queda espacio en el dispositivo");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
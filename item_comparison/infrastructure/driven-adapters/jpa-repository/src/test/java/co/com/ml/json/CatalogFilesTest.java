@@ -0,0 +1,86 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CatalogFiles")
+class CatalogFilesTest {
+
+    private static final String DESCRIPTION = "Laptop ultradelgada con pantalla de 14 pulgadas, 16GB de RAM, "
+            + "512GB SSD y batería de larga duración";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Product> repeatedListing(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder().id(String.valueOf(i)).productName("Laptop Ultralight Pro")
+                    .imageUrl("https://ejemplo.com/laptop.jpg").description(DESCRIPTION).price(100.0 + i).build());
+        }
+        return products;
+    }
+
+    @Test
+    @DisplayName("Debería guardar una sola vez los textos repetidos y recuperarlos al leer")
+    void shouldStoreRepeatedTextsOnceAndRestoreThem() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("products.json");
+        List<Product> products = repeatedListing(10);
+
+        // Act
+        CatalogFiles.writeAtomically(objectMapper, file, products);
+        List<Product> result = CatalogFiles.read(objectMapper, file);
+
+        // Assert
+        String content = Files.readString(file);
+        assertEquals(content.indexOf(DESCRIPTION), content.lastIndexOf(DESCRIPTION));
+        assertEquals(products, result);
+        assertSame(result.get(0).getDescription(), result.get(9).getDescription());
+    }
+
+    @Test
+    @DisplayName("Debería escribir un arreglo cuando no hay textos repetidos")
+    void shouldWritePlainArrayWithoutRepeatedTexts() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("products.json");
+        List<Product> products = repeatedListing(1);
+
+        // Act
+        CatalogFiles.writeAtomically(objectMapper, file, products);
+
+        // Assert
+        assertTrue(Files.readString(file).startsWith("["));
+        assertEquals(products, CatalogFiles.read(objectMapper, file));
+    }
+
+    @Test
+    @DisplayName("Debería resolver las referencias al buscar por ID en modo streaming")
+    void shouldResolveReferencesInStreamingLookup() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("products.json");
+        CatalogFiles.writeAtomically(objectMapper, file, repeatedListing(5));
+
+        // Act
+        Map<String, Product> result = StreamingProductLookup.find(objectMapper, file, Set.of("3"));
+
+        // Assert
+        assertEquals(DESCRIPTION, result.get("3").getDescription());
+        assertEquals(103.0, result.get("3").getPrice());
+    }
+}
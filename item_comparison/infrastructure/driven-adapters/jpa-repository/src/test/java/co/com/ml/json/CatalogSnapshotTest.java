@@ -0,0 +1,189 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CatalogSnapshot")
+class CatalogSnapshotTest {
+
+    private static Product product(String id) {
+        return Product.builder().id(id).productName("Producto " + id).price(100.0).build();
+    }
+
+    @Test
+    @DisplayName("Debería buscar productos por ID respetando el orden solicitado")
+    void shouldFindProductsByIdInRequestedOrder() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(Arrays.asList(product("1"), product("2"), product("3")));
+
+        // Act
+        List<Product> result = snapshot.findAll(Arrays.asList("3", "1", "3", "99"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("3", result.get(0).getId());
+        assertEquals("1", result.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Debería agregar un producto sin modificar el catálogo original")
+    void shouldAddProductWithoutModifyingOriginalSnapshot() {
+        // Arrange
+        CatalogSnapshot original = CatalogSnapshot.of(Collections.singletonList(product("1")));
+
+        // Act
+        CatalogSnapshot next = original.withProduct(product("2"));
+
+        // Assert
+        assertEquals(1, original.size());
+        assertEquals(2, next.size());
+        assertTrue(original.findAll(Collections.singletonList("2")).isEmpty());
+        assertEquals("2", next.findAll(Collections.singletonList("2")).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Debería retornar lista vacía cuando los IDs son nulos")
+    void shouldReturnEmptyListWhenIdsAreNull() {
+        // Act
+        List<Product> result = CatalogSnapshot.empty().findAll(null);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería exponer una lista inmutable de productos")
+    void shouldExposeUnmodifiableProductList() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(Collections.singletonList(product("1")));
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.products().add(product("2")));
+    }
+
+    @Test
+    @DisplayName("Debería filtrar por rango de precio y calificación mínima")
+    void shouldFilterByPriceRangeAndMinimumRating() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(Arrays.asList(
+                Product.builder().id("1").price(50.0).rating(4.8).build(),
+                Product.builder().id("2").price(150.0).rating(4.9).build(),
+                Product.builder().id("3").price(null).rating(5.0).build()))
+                .withProducts(Arrays.asList(
+                        Product.builder().id("4").price(80.0).rating(null).build(),
+                        Product.builder().id("5").price(90.0).rating(4.0).build()));
+
+        // Act
+        int[] byPrice = snapshot.rowsInRange(40.0, 100.0, null, 0, 10);
+        int[] byPriceAndRating = snapshot.rowsInRange(40.0, 100.0, 4.5, 0, 10);
+        int[] byRating = snapshot.rowsInRange(null, null, 4.9, 0, 10);
+        int[] byPriceFromSecondRow = snapshot.rowsInRange(40.0, 100.0, null, 1, 1);
+
+        // Assert
+        assertArrayEquals(new int[]{0, 3, 4}, byPrice);
+        assertArrayEquals(new int[]{0}, byPriceAndRating);
+        assertArrayEquals(new int[]{1, 2}, byRating);
+        assertArrayEquals(new int[]{3}, byPriceFromSecondRow);
+        assertEquals("4", snapshot.get(3).getId());
+    }
+
+    @Test
+    @DisplayName("Debería compartir los textos repetidos entre productos")
+    void shouldShareRepeatedTextsBetweenProducts() {
+        // Arrange
+        Product first = Product.builder().id("1").description(new String("Laptop ultradelgada")).build();
+        Product second = Product.builder().id("2").description(new String("Laptop ultradelgada")).build();
+
+        // Act
+        CatalogSnapshot snapshot = CatalogSnapshot.of(Collections.singletonList(first)).withProduct(second);
+        snapshot.publish();
+
+        // Assert
+        assertSame(snapshot.products().get(0).getDescription(), snapshot.products().get(1).getDescription());
+        assertEquals(2.0, snapshot.deduplicationRatio());
+        assertEquals(1.0, CatalogSnapshot.empty().deduplicationRatio());
+    }
+
+    @Test
+    @DisplayName("No debería retener los textos de una vista que no se publicó")
+    void shouldNotKeepTextsOfUnpublishedView() {
+        // Arrange
+        CatalogSnapshot original = CatalogSnapshot.of(Collections.singletonList(
+                Product.builder().id("1").description("Laptop ultradelgada").build()));
+        Product failed = Product.builder().id("2").description(new String("Tablet de 10 pulgadas")).build();
+        Product retried = Product.builder().id("3").description(new String("Tablet de 10 pulgadas")).build();
+
+        // Act
+        original.withProduct(failed);
+        CatalogSnapshot next = original.withProduct(retried);
+        next.publish();
+
+        // Assert
+        assertEquals(1.0, next.deduplicationRatio());
+        assertSame(retried.getDescription(), next.products().get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Debería agregar sin exponer filas a las vistas anteriores ni a una vista descartada")
+    void shouldAppendWithoutExposingRowsToEarlierOrDiscardedViews() {
+        // Arrange
+        CatalogSnapshot original = CatalogSnapshot.of(Collections.singletonList(product("1")));
+        CatalogSnapshot discarded = original.withProduct(product("2"));
+
+        // Act
+        CatalogSnapshot next = original.withProducts(Arrays.asList(product("3"), product("1")));
+        next.publish();
+
+        // Assert
+        assertEquals(1, discarded.findAll(Collections.singletonList("2")).size());
+        assertTrue(next.findAll(Collections.singletonList("2")).isEmpty());
+        assertTrue(original.findAll(Collections.singletonList("3")).isEmpty());
+        assertEquals(Arrays.asList("1", "3", "1"), next.products().stream().map(Product::getId).toList());
+        assertEquals(List.of("3", "1"), next.findAll(Arrays.asList("3", "1")).stream().map(Product::getId).toList());
+        assertSame(next.products().get(0), next.findAll(Collections.singletonList("1")).get(0));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar agregar sobre una vista sin publicar")
+    void shouldRejectAppendingToUnpublishedView() {
+        // Arrange
+        CatalogSnapshot staged = CatalogSnapshot.of(Collections.singletonList(product("1"))).withProduct(product("2"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> staged.withProduct(product("3")));
+    }
+
+    @Test
+    @DisplayName("Debería recorrer el catálogo a través de varios bloques")
+    void shouldReadCatalogAcrossSeveralChunks() {
+        // Arrange
+        int count = 2 * ChunkedArray.CHUNK_SIZE + 7;
+        CatalogSnapshot snapshot = CatalogSnapshot.empty();
+        for (int i = 0; i < count; i += 1000) {
+            List<Product> batch = new ArrayList<>();
+            for (int j = i; j < Math.min(count, i + 1000); j++) {
+                batch.add(Product.builder().id(String.valueOf(j)).price((double) j).build());
+            }
+            snapshot = snapshot.withProducts(batch);
+            snapshot.publish();
+        }
+
+        // Act
+        List<Product> page = snapshot.page(ChunkedArray.CHUNK_SIZE - 1, 3);
+        int[] range = snapshot.rowsInRange((double) count - 3, null, null, ChunkedArray.CHUNK_SIZE + 1, 10);
+
+        // Assert
+        assertEquals(count, snapshot.size());
+        assertEquals(List.of("4095", "4096", "4097"), page.stream().map(Product::getId).toList());
+        assertArrayEquals(new int[]{count - 3, count - 2, count - 1}, range);
+        assertEquals(String.valueOf(count - 1), snapshot.findAll(List.of(String.valueOf(count - 1))).get(0).getId());
+    }
+}
@@ -0,0 +1,180 @@
+package co.com.ml.json;
+
+import co.com.ml.json.JsonStorageProperties.Durability;
+import co.com.ml.model.product.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para GroupCommitWriter")
+class GroupCommitWriterTest {
+
+    private static Product product(String id) {
+        return Product.builder().id(id).productName("Producto " + id).price(100.0).build();
+    }
+
+    private static class RecordingStorage implements CatalogStorage {
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+        private final AtomicInteger syncs = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile boolean syncFailing;
+
+        @Override
+        public List<Product> load() throws IOException {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Map<String, Product> find(Set<String> productIds) {
+            return new HashMap<>();
+        }
+
+        @Override
+        public void write(List<Product> added, List<Product> catalog) throws IOException {
+            if (failing) {
+                throw new IOException("Disco lleno");
+            }
+            batches.add(added.size());
+        }
+
+        @Override
+        public void sync() throws IOException {
+            syncs.incrementAndGet();
+            if (syncFailing) {
+                throw new IOException("Error de sincronización");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería persistir y publicar todas las escrituras concurrentes")
+    void shouldCommitAndPublishConcurrentWrites() throws IOException {
+        // Arrange
+        RecordingStorage storage = new RecordingStorage();
+        AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>(CatalogSnapshot.empty());
+        GroupCommitWriter writer = new GroupCommitWriter(storage, catalog, Durability.FSYNC_PER_BATCH,
+                Duration.ofSeconds(1), 64, new SimpleMeterRegistry());
+
+        // Act
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(writer.submit(Collections.singletonList(product(String.valueOf(i)))));
+        }
+        futures.forEach(CompletableFuture::join);
+        writer.close();
+
+        // Assert
+        assertEquals(100, catalog.get().size());
+        assertEquals(100, storage.batches.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(storage.batches.stream().allMatch(size -> size <= 64));
+        assertTrue(storage.syncs.get() >= storage.batches.size());
+    }
+
+    @Test
+    @DisplayName("Debería fallar las escrituras del lote cuando el almacenamiento falla")
+    void shouldFailBatchWhenStorageFails() throws IOException {
+        // Arrange
+        RecordingStorage storage = new RecordingStorage();
+        storage.failing = true;
+        AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>(CatalogSnapshot.empty());
+        GroupCommitWriter writer = new GroupCommitWriter(storage, catalog, Durability.OS_BUFFERED,
+                Duration.ofSeconds(1), 64, new SimpleMeterRegistry());
+
+        // Act
+        CompletableFuture<Void> future = writer.submit(Collections.singletonList(product("1")));
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof IOException);
+        assertEquals(0, catalog.get().size());
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("Debería publicar y confirmar un lote ya escrito aunque falle la sincronización")
+    void shouldPublishWrittenBatchWhenSyncFails() throws IOException {
+        // Arrange
+        RecordingStorage storage = new RecordingStorage();
+        storage.syncFailing = true;
+        AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>(CatalogSnapshot.empty());
+        GroupCommitWriter writer = new GroupCommitWriter(storage, catalog, Durability.FSYNC_PER_BATCH,
+                Duration.ofSeconds(1), 64, new SimpleMeterRegistry());
+
+        // Act
+        writer.submit(Collections.singletonList(product("1"))).join();
+        int failedSyncs = storage.syncs.get();
+        storage.syncFailing = false;
+        writer.close();
+
+        // Assert
+        assertEquals(1, catalog.get().size());
+        assertTrue(failedSyncs >= 1);
+        assertTrue(storage.syncs.get() > failedSyncs);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar escrituras después de cerrar")
+    void shouldRejectWritesAfterClose() throws IOException {
+        // Arrange
+        GroupCommitWriter writer = new GroupCommitWriter(new RecordingStorage(),
+                new AtomicReference<>(CatalogSnapshot.empty()), Durability.OS_BUFFERED,
+                Duration.ofSeconds(1), 64, new SimpleMeterRegistry());
+        writer.close();
+
+        // Act
+        CompletableFuture<Void> future = writer.submit(Collections.singletonList(product("1")));
+
+        // Assert
+        assertThrows(CompletionException.class, future::join);
+    }
+
+    @Test
+    @DisplayName("Debería fallar las escrituras encoladas y las posteriores cuando la carga falla")
+    void shouldFailQueuedAndLaterWritesWhenLoadFails() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        RecordingStorage storage = new RecordingStorage() {
+            @Override
+            public List<Product> load() throws IOException {
+                try {
+                    loading.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Catálogo ilegible");
+            }
+        };
+        GroupCommitWriter writer = new GroupCommitWriter(storage, new AtomicReference<>(CatalogSnapshot.empty()),
+                Durability.OS_BUFFERED, Duration.ofSeconds(1), 64, new SimpleMeterRegistry());
+        CompletableFuture<Void> queued = writer.submit(Collections.singletonList(product("1")));
+
+        // Act
+        loading.countDown();
+        CompletableFuture<Void> later = writer.submit(Collections.singletonList(product("2")));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IOException);
+        assertThrows(ExecutionException.class, () -> later.get(5, TimeUnit.SECONDS));
+        writer.close();
+    }
+}
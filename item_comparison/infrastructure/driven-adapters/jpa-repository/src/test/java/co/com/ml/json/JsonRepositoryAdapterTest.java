@@ -0,0 +1,145 @@
+package co.com.ml.json;
+
+import co.com.ml.model.exceptions.ProductRepositoryException;
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para JsonRepositoryAdapter")
+class JsonRepositoryAdapterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private static Product product(String id) {
+        return Product.builder().id(id).productName("Producto " + id).price(100.0).build();
+    }
+
+    private JsonRepositoryAdapter openAdapter(CatalogStorage storage) {
+        JsonStorageProperties properties = new JsonStorageProperties();
+        properties.setFile(tempDir.resolve("products.json").toString());
+        return new JsonRepositoryAdapter(storage, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Debería comparar leyendo el archivo mientras el catálogo termina de cargarse")
+    void shouldCompareFromFileWhileCatalogIsLoading() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("products.json");
+        CatalogFiles.writeAtomically(objectMapper, file, Arrays.asList(product("1"), product("2"), product("3")));
+        BlockingStorage storage = new BlockingStorage(new SnapshotFileStorage(objectMapper, file));
+        JsonRepositoryAdapter adapter = openAdapter(storage);
+
+        // Act
+        List<Product> cold = adapter.compareProducts(Arrays.asList("3", "desconocido", "1"));
+        storage.loading.countDown();
+        int loaded = adapter.listAllProducts().size();
+        List<Product> warm = adapter.compareProducts(Arrays.asList("3", "1"));
+        adapter.close();
+
+        // Assert
+        assertEquals(Arrays.asList("3", "1"), cold.stream().map(Product::getId).toList());
+        assertEquals(1, storage.finds);
+        assertEquals(3, loaded);
+        assertEquals(cold, warm);
+        assertEquals(1, storage.finds);
+        assertNull(adapter.loadFailure());
+    }
+
+    @Test
+    @DisplayName("Debería dejar de estar lista cuando falla la carga del catálogo")
+    void shouldReportNotReadyWhenCatalogLoadFails() throws IOException {
+        // Arrange
+        BlockingStorage storage = new BlockingStorage(new SnapshotFileStorage(objectMapper, tempDir.resolve("x")));
+        storage.failure = new IOException("Archivo dañado");
+        JsonRepositoryAdapter adapter = openAdapter(storage);
+        CatalogLoadHealthIndicator indicator = new CatalogLoadHealthIndicator(
+                new StaticListableBeanFactory(Map.of("jsonRepositoryAdapter", adapter))
+                        .getBeanProvider(JsonRepositoryAdapter.class));
+
+        // Act
+        Status during = indicator.health().getStatus();
+        storage.loading.countDown();
+        assertThrows(ProductRepositoryException.class, adapter::listAllProducts);
+        Status after = indicator.health().getStatus();
+        adapter.close();
+
+        // Assert
+        assertEquals(Status.UP, during);
+        assertEquals(Status.DOWN, after);
+        assertSame(storage.failure, adapter.loadFailure());
+    }
+
+    @Test
+    @DisplayName("Debería estar lista cuando el adaptador configurado no es el JSON")
+    void shouldReportReadyWithoutJsonAdapter() {
+        // Arrange
+        CatalogLoadHealthIndicator indicator = new CatalogLoadHealthIndicator(
+                new StaticListableBeanFactory().getBeanProvider(JsonRepositoryAdapter.class));
+
+        // Act & Assert
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    /**
+     * Almacenamiento cuya carga espera a que el test la libere y luego retorna el catálogo o falla.
+     */
+    private static class BlockingStorage implements CatalogStorage {
+
+        private final CatalogStorage delegate;
+        private final CountDownLatch loading = new CountDownLatch(1);
+        private volatile IOException failure;
+        private volatile int finds;
+
+        BlockingStorage(CatalogStorage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<Product> load() throws IOException {
+            try {
+                loading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Carga interrumpida", e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return delegate.load();
+        }
+
+        @Override
+        public Map<String, Product> find(Set<String> productIds) throws IOException {
+            finds++;
+            return delegate.find(productIds);
+        }
+
+        @Override
+        public void write(List<Product> added, List<Product> catalog) throws IOException {
+            delegate.write(added, catalog);
+        }
+
+        @Override
+        public void sync() throws IOException {
+            delegate.sync();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package co.com.ml.json;
+
+import co.com.ml.model.exceptions.ProductRepositoryException;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ShardedRepositoryAdapter")
+class ShardedRepositoryAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ShardedRepositoryAdapter openAdapter(int shards) {
+        ShardedStorageProperties properties = new ShardedStorageProperties();
+        properties.setDirectory(tempDir.resolve("catalog").toString());
+        properties.setShards(shards);
+        properties.setSeedFile(tempDir.resolve("products.json").toString());
+        ShardedRepositoryAdapter adapter = new ShardedRepositoryAdapter(properties);
+        adapter.loadShards();
+        return adapter;
+    }
+
+    private static Product product(String id) {
+        return Product.builder().id(id).productName("Producto " + id).price(100.0).build();
+    }
+
+    @Test
+    @DisplayName("Debería inicializar las particiones desde el catálogo JSON")
+    void shouldSeedShardsFromJsonCatalog() throws IOException {
+        // Arrange
+        Files.write(tempDir.resolve("products.json"),
+                "[{\"id\":\"1\",\"productName\":\"Uno\"},{\"id\":\"2\",\"productName\":\"Dos\"}]"
+                        .getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ShardedRepositoryAdapter adapter = openAdapter(4);
+
+        // Assert
+        assertEquals(2, adapter.listAllProducts().size());
+        try (Stream<Path> files = Files.list(tempDir.resolve("catalog"))) {
+            assertEquals(4, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería comparar productos distribuidos en varias particiones")
+    void shouldCompareProductsAcrossShards() {
+        // Arrange
+        ShardedRepositoryAdapter adapter = openAdapter(4);
+        IntStream.range(0, 20).forEach(i -> adapter.addProduct(product("p" + i)));
+
+        // Act
+        List<Product> result = adapter.compareProducts(Arrays.asList("p7", "p1", "p99", "p7"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("p7", result.get(0).getId());
+        assertEquals("p1", result.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Debería redistribuir el catálogo cuando cambia la cantidad de particiones")
+    void shouldRebalanceWhenShardCountChanges() throws IOException {
+        // Arrange
+        ShardedRepositoryAdapter adapter = openAdapter(4);
+        IntStream.range(0, 20).forEach(i -> adapter.addProduct(product("p" + i)));
+
+        // Act
+        ShardedRepositoryAdapter reopened = openAdapter(3);
+
+        // Assert
+        assertEquals(20, reopened.listAllProducts().size());
+        assertEquals(1, reopened.compareProducts(Arrays.asList("p13", "missing")).size());
+        try (Stream<Path> files = Files.list(tempDir.resolve("catalog"))) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería terminar el intercambio de una redistribución interrumpida entre los renombrados")
+    void shouldFinishRedistributionInterruptedBetweenRenames() throws IOException {
+        // Arrange
+        ShardedRepositoryAdapter adapter = openAdapter(3);
+        IntStream.range(0, 20).forEach(i -> adapter.addProduct(product("p" + i)));
+        Path directory = tempDir.resolve("catalog");
+        Path staging = tempDir.resolve("catalog.tmp");
+        Files.createDirectories(staging);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, staging.resolve(file.getFileName()));
+            }
+        }
+        Files.move(directory, tempDir.resolve("catalog.old"));
+
+        // Act
+        ShardedRepositoryAdapter reopened = openAdapter(3);
+
+        // Assert
+        assertEquals(20, reopened.listAllProducts().size());
+        assertFalse(Files.exists(staging));
+        assertFalse(Files.exists(tempDir.resolve("catalog.old")));
+    }
+
+    @Test
+    @DisplayName("Debería descartar una redistribución interrumpida antes del intercambio")
+    void shouldDiscardRedistributionInterruptedBeforeSwap() throws IOException {
+        // Arrange
+        ShardedRepositoryAdapter adapter = openAdapter(3);
+        IntStream.range(0, 20).forEach(i -> adapter.addProduct(product("p" + i)));
+        Path staging = tempDir.resolve("catalog.tmp");
+        Files.createDirectories(staging);
+        CatalogFiles.writeAtomically(new ObjectMapper(), staging.resolve("products-0.json"),
+                List.of(product("p0")));
+
+        // Act
+        ShardedRepositoryAdapter reopened = openAdapter(3);
+
+        // Assert
+        assertEquals(20, reopened.listAllProducts().size());
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    @DisplayName("Debería paginar todas las particiones sin repetir ni omitir productos")
+    void shouldPaginateAcrossShards() {
+        // Arrange
+        ShardedRepositoryAdapter adapter = openAdapter(4);
+        IntStream.range(0, 20).forEach(i -> adapter.addProduct(product("p" + i)));
+
+        // Act
+        Set<String> ids = new HashSet<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            ProductPage page = adapter.listProducts(cursor, 3);
+            page.getProducts().forEach(product -> ids.add(product.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(20, ids.size());
+        assertEquals(7, pages);
+    }
+
+    @Test
+    @DisplayName("Debería paginar la búsqueda por rango en todas las particiones sin repetir ni omitir productos")
+    void shouldPaginateRangeQueryAcrossShards() {
+        // Arrange
+        ShardedRepositoryAdapter adapter = openAdapter(4);
+        IntStream.range(0, 20).forEach(i -> adapter.addProduct(product("p" + i).toBuilder().price((double) i).build()));
+
+        // Act
+        Set<String> ids = new HashSet<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            ProductPage page = adapter.findProductsInRange(5.0, 14.0, null, cursor, 3);
+            page.getProducts().forEach(product -> ids.add(product.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(IntStream.rangeClosed(5, 14).mapToObj(i -> "p" + i).collect(Collectors.toSet()), ids);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    @DisplayName("Debería descartar el lote completo cuando falla la escritura de una partición")
+    void shouldDiscardWholeBatchWhenOneShardFails() throws IOException {
+        // Arrange
+        ShardedRepositoryAdapter adapter = openAdapter(2);
+        adapter.addProduct(product("b"));
+        Path blocker = tempDir.resolve("catalog").resolve("products-1.json.tmp").resolve("ocupado");
+        Files.createDirectories(blocker);
+
+        // Act
+        assertThrows(ProductRepositoryException.class,
+                () -> adapter.addProducts(Arrays.asList(product("d"), product("a"))));
+        Files.delete(blocker);
+        Files.delete(blocker.getParent());
+        ShardedRepositoryAdapter reopened = openAdapter(2);
+
+        // Assert
+        assertEquals(List.of(product("b")), adapter.listAllProducts());
+        assertTrue(adapter.compareProducts(Arrays.asList("a", "d")).isEmpty());
+        assertEquals(List.of(product("b")), reopened.listAllProducts());
+    }
+}
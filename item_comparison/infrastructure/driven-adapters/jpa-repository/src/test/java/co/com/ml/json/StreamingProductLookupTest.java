@@ -0,0 +1,73 @@
+package co.com.ml.json;
+
+import co.com.ml.model.product.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para StreamingProductLookup")
+class StreamingProductLookupTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private Path catalog(String json) throws IOException {
+        Path file = tempDir.resolve("products.json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    @DisplayName("Debería encontrar solo los productos solicitados")
+    void shouldFindOnlyRequestedProducts() throws IOException {
+        // Arrange
+        Path file = catalog("[{\"id\":\"1\",\"productName\":\"Uno\",\"price\":10.5},"
+                + "{\"id\":\"2\",\"productName\":\"Dos\",\"extra\":{\"a\":[1,2]}},"
+                + "{\"productName\":\"Tres\",\"rating\":4.5,\"id\":\"3\"}]");
+
+        // Act
+        Map<String, Product> result = StreamingProductLookup.find(objectMapper, file, Set.of("1", "3", "99"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(10.5, result.get("1").getPrice());
+        assertEquals("Tres", result.get("3").getProductName());
+        assertEquals(4.5, result.get("3").getRating());
+    }
+
+    @Test
+    @DisplayName("Debería detener la lectura al encontrar todos los IDs")
+    void shouldStopReadingWhenAllIdsAreFound() throws IOException {
+        // Arrange: el contenido posterior al producto buscado es inválido y no debe leerse
+        Path file = catalog("[{\"id\":\"1\",\"productName\":\"Uno\"}, {\"id\": ");
+
+        // Act
+        Map<String, Product> result = StreamingProductLookup.find(objectMapper, file, Set.of("1"));
+
+        // Assert
+        assertEquals("Uno", result.get("1").getProductName());
+    }
+
+    @Test
+    @DisplayName("Debería retornar vacío cuando el archivo no existe")
+    void shouldReturnEmptyWhenFileDoesNotExist() throws IOException {
+        // Act
+        Map<String, Product> result = StreamingProductLookup.find(objectMapper,
+                tempDir.resolve("missing.json"), Set.of("1"));
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+}
@@ -1,9 +1,16 @@
 package co.com.ml.api;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -11,11 +18,32 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import co.com.ml.model.exceptions.ProductValidationException;
 import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductComparison;
+import co.com.ml.model.product.ProductPage;
 import co.com.ml.usecase.product.ProductUseCase;
+import co.com.ml.api.batch.ProductBatchIngest;
+import co.com.ml.api.batch.ProductComparisonBatch;
+import co.com.ml.api.cache.ProductJsonCache;
+import co.com.ml.api.config.ProductFieldsFilterConfig;
 import co.com.ml.api.util.ProductValidationUtil;
+import co.com.ml.api.dto.ProductBatchResultDto;
+import co.com.ml.api.dto.ProductComparisonBatchRequestDto;
+import co.com.ml.api.dto.ProductComparisonBatchResultDto;
+import co.com.ml.api.dto.ProductComparisonDto;
 import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.dto.ProductPageDto;
 import co.com.ml.api.mapper.ProductMapper;
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +51,14 @@ import jakarta.validation.Valid;
 
 /**
  * API Rest controller para productos.
+ * <p>
+ * El listado y la comparación responden con un ETag fuerte derivado de la versión del catálogo y de los
+ * parámetros de la solicitud; si el cliente envía ese ETag en {@code If-None-Match} y el catálogo no cambió,
+ * se responde {@code 304 Not Modified} sin consultar el almacenamiento ni serializar productos. El ETag incluye
+ * además una marca de la instancia, de modo que nunca se valida una copia obtenida antes de un reinicio.
+ * <p>
+ * Sin proyección de campos, el listado y la comparación se arman con el JSON de cada producto conservado en
+ * {@link ProductJsonCache}, sin mapear ni serializar de nuevo los productos ya vistos.
  */
 @RestController
 @ResponseBody
@@ -33,35 +69,216 @@ public class ApiRest {
     private final ProductUseCase productUseCase;
     private final ProductValidationUtil productValidationUtil;
     private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final ProductJsonCache productJsonCache;
+    private final ProductBatchIngest productBatchIngest;
+    private final ProductComparisonBatch productComparisonBatch;
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
 
 
     /**
-     * Obtiene todos los productos
-     * @return lista de productos
+     * Obtiene una página del listado de productos en orden de inserción.
+     * Ejemplo: /product?limit=100 y luego /product?cursor={nextCursor}&limit=100
+     * @param cursor cursor opaco devuelto en la página anterior; se omite para la primera
+     * @param limit cantidad máxima de productos por página (1 a 100)
+     * @param fields propiedades de cada producto a incluir, separadas por comas (opcional, por defecto todas)
+     * @param request solicitud, para validar el ETag recibido en {@code If-None-Match}
+     * @return la página de productos y el cursor de la siguiente, nulo en la última
      */
     @GetMapping
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        List<Product> products = productUseCase.listAllProducts();
-        List<ProductDto> productDtos = productMapper.toDtoList(products);
-        return ResponseEntity.ok(productDtos);
+    public ResponseEntity<Object> getAllProducts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            WebRequest request) {
+        productValidationUtil.validateListing(limit);
+        productValidationUtil.validateFields(fields);
+        if (request.checkNotModified(etag("list", cursor, limit, fields))) {
+            return null;
+        }
+
+        ProductPage page = productUseCase.listProducts(cursor, limit);
+
+        Object body = isProjected(fields)
+                ? project(productMapper.toPageDto(page), fields)
+                : productJsonCache.page(page);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    /**
+     * Exporta el catálogo completo en formato NDJSON (un producto JSON por línea).
+     * Cada producto se escribe en la respuesta a medida que se recorre el almacenamiento, sin construir
+     * listas intermedias, por lo que la memoria usada no depende del tamaño del catálogo.
+     * @return el catálogo en NDJSON
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        ObjectWriter writer = objectMapper.writerFor(ProductDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            // cerrar el generador vacía su buffer y lo libera; el flujo de la respuesta lo cierra el contenedor
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+                generator.setRootValueSeparator(null);
+                productUseCase.forEachProduct(product -> writeLine(writer, generator, productMapper.toDto(product)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
      * Devuelve los productos solicitados para comparación en formato JSON.
      * Recibe 2 o más IDs mediante query param: /product/compare?ids=uuid1&ids=uuid2&ids=uuid3
      * @param ids lista de IDs de productos a comparar (>=2)
+     * @param fields propiedades de cada producto a incluir, separadas por comas (opcional, por defecto todas)
+     * @param request solicitud, para validar el ETag recibido en {@code If-None-Match}
      * @return lista de productos solicitados
      */
     @GetMapping("/compare")
-    public ResponseEntity<List<ProductDto>> compareProducts(@RequestParam("ids") List<String> ids) {
+    public ResponseEntity<Object> compareProducts(
+            @RequestParam("ids") List<String> ids,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            WebRequest request) {
         productValidationUtil.validateProductIdsForComparison(ids);
+        productValidationUtil.validateFields(fields);
+        if (request.checkNotModified(etag("compare", ids, fields))) {
+            return null;
+        }
         
         List<Product> result = productUseCase.compareProducts(ids);
         
         productValidationUtil.validateComparisonResult(ids, result);
         
-        List<ProductDto> productDtos = productMapper.toDtoList(result);
-        return ResponseEntity.ok(productDtos);
+        Object body = isProjected(fields)
+                ? project(productMapper.toDtoList(result), fields)
+                : productJsonCache.array(result);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    /**
+     * Resuelve varias comparaciones en una sola solicitud, con una sola consulta al repositorio para la unión
+     * de los IDs de todos los grupos. Cada grupo se valida como en {@code GET /product/compare}; los inválidos
+     * se rechazan sin impedir que se respondan los demás.
+     * Ejemplo: {"groups": [["uuid1", "uuid2"], ["uuid2", "uuid3", "uuid4"]]}
+     * @param request grupos de IDs a comparar (1 a 100)
+     * @param fields propiedades de cada producto a incluir, separadas por comas (opcional, por defecto todas)
+     * @return el resultado de cada grupo, en el orden recibido
+     */
+    @PostMapping(value = "/compare/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> compareProductGroups(
+            @RequestBody ProductComparisonBatchRequestDto request,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        List<List<String>> groups = request == null ? null : request.getGroups();
+        productValidationUtil.validateComparisonBatch(groups);
+        productValidationUtil.validateFields(fields);
+
+        ProductComparisonBatchResultDto result = productComparisonBatch.compare(groups);
+
+        return ResponseEntity.ok(isProjected(fields) ? project(result, fields) : result);
+    }
+
+    /**
+     * Devuelve los productos solicitados para comparación junto con los atributos de sus especificaciones
+     * alineados en columnas: cada atributo tiene un valor por producto, en el mismo orden de los productos.
+     * Ejemplo: /product/compare/attributes?ids=uuid1&ids=uuid2
+     * @param ids lista de IDs de productos a comparar (>=2)
+     * @return productos solicitados y sus atributos alineados
+     */
+    @GetMapping("/compare/attributes")
+    public ResponseEntity<ProductComparisonDto> compareProductsWithAttributes(@RequestParam("ids") List<String> ids) {
+        productValidationUtil.validateProductIdsForComparison(ids);
+
+        ProductComparison comparison = productUseCase.compareProductsWithAttributes(ids);
+
+        productValidationUtil.validateComparisonResult(ids, comparison.getProducts());
+
+        return ResponseEntity.ok(productMapper.toComparisonDto(comparison));
+    }
+
+    /**
+     * Devuelve una página de los productos dentro de un rango de precio y con una calificación mínima,
+     * en orden de inserción.
+     * Ejemplo: /product/range?minPrice=100&maxPrice=500&minRating=4&limit=100 y luego con
+     * {@code cursor={nextCursor}}
+     * @param minPrice precio mínimo, inclusivo (opcional)
+     * @param maxPrice precio máximo, inclusivo (opcional)
+     * @param minRating calificación mínima, inclusiva (opcional)
+     * @param cursor cursor opaco devuelto en la página anterior; se omite para la primera
+     * @param limit cantidad máxima de productos por página (1 a 100)
+     * @return la página de productos dentro del rango y el cursor de la siguiente, nulo en la última
+     */
+    @GetMapping("/range")
+    public ResponseEntity<ProductPageDto> findProductsInRange(
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(value = "minRating", required = false) Double minRating,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        productValidationUtil.validateRange(minPrice, maxPrice, minRating);
+        productValidationUtil.validateListing(limit);
+
+        ProductPage page = productUseCase.findProductsInRange(minPrice, maxPrice, minRating, cursor, limit);
+
+        return ResponseEntity.ok(productMapper.toPageDto(page));
+    }
+
+    /**
+     * Busca productos por texto en su nombre y descripción, ordenados por relevancia.
+     * Ejemplo: /product/search?q=camara&page=0&size=20
+     * @param query texto a buscar; no distingue mayúsculas ni tildes
+     * @param page número de página, desde 0
+     * @param size cantidad de resultados por página (1 a 100)
+     * @return la página de productos encontrados
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDto>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        productValidationUtil.validateSearch(query, page, size);
+
+        List<Product> result = productUseCase.searchProducts(query, page, size);
+
+        return ResponseEntity.ok(productMapper.toDtoList(result));
+    }
+
+    /**
+     * Busca productos cuyo nombre es similar al texto, tolerando errores de escritura.
+     * Ejemplo: /product/search/fuzzy?q=stelseries&threshold=0.3&limit=10
+     * @param query texto a buscar
+     * @param threshold similitud mínima entre los trigramas del texto y del nombre (mayor a 0 y hasta 1)
+     * @param limit cantidad máxima de resultados (1 a 100)
+     * @return los productos ordenados por similitud
+     */
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<List<ProductDto>> fuzzySearchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "threshold", defaultValue = "0.3") double threshold,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        productValidationUtil.validateFuzzySearch(query, threshold, limit);
+
+        List<Product> result = productUseCase.fuzzySearchProducts(query, threshold, limit);
+
+        return ResponseEntity.ok(productMapper.toDtoList(result));
+    }
+
+    /**
+     * Sugiere nombres de productos que comienzan con el prefijo, ordenados por calificación.
+     * Ejemplo: /product/autocomplete?prefix=lap&limit=5
+     * @param prefix prefijo a completar; no distingue mayúsculas ni tildes
+     * @param limit cantidad máxima de sugerencias (1 a 10)
+     * @return los nombres sugeridos
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocompleteProductNames(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        productValidationUtil.validateAutocomplete(prefix, limit);
+
+        return ResponseEntity.ok(productUseCase.autocompleteProductNames(prefix, limit));
     }
 
     /**
@@ -81,10 +298,79 @@ public class ApiRest {
         
         // Guardar el producto usando el caso de uso
         Product savedProduct = productUseCase.addProduct(product);
+        productJsonCache.put(savedProduct);
         
         // Convertir el modelo de dominio de vuelta a DTO
         ProductDto savedProductDto = productMapper.toDto(savedProduct);
         
         return ResponseEntity.status(HttpStatus.CREATED).body(savedProductDto);
     }
+
+    /**
+     * Construye el ETag de una respuesta a partir de la instancia, la versión del catálogo y los parámetros.
+     * La versión se lee antes de consultar los productos: si el catálogo cambia entretanto, el ETag queda
+     * atrasado respecto al cuerpo y la siguiente solicitud recibe la respuesta completa, nunca un 304 indebido.
+     */
+    private String etag(Object... parameters) {
+        return "\"" + instanceTag + "-" + Long.toString(productUseCase.catalogVersion(), Character.MAX_RADIX)
+                + "-" + Integer.toHexString(Arrays.hashCode(parameters)) + "\"";
+    }
+
+    /**
+     * Guarda un lote de productos recibido como arreglo JSON, con una sola escritura del almacenamiento.
+     * Cada producto se valida por separado: los inválidos se rechazan sin impedir que se guarden los demás.
+     * @param productDtos productos a guardar (1 a 50000)
+     * @return el resultado de cada producto, en el orden recibido
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductBatchResultDto> saveProducts(@RequestBody List<ProductDto> productDtos) {
+        productValidationUtil.validateBatch(productDtos);
+
+        return ResponseEntity.ok(productBatchIngest.ingest(productDtos));
+    }
+
+    /**
+     * Guarda un lote de productos recibido como NDJSON (un producto JSON por línea), igual que
+     * {@link #saveProducts(List)}.
+     * @param body cuerpo de la solicitud
+     * @return el resultado de cada producto, en el orden recibido
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ProductBatchResultDto> saveProductsFromNdjson(InputStream body) throws IOException {
+        List<ProductDto> productDtos = new ArrayList<>();
+        try (MappingIterator<ProductDto> lines = objectMapper.readerFor(ProductDto.class).readValues(body)) {
+            while (productDtos.size() <= ProductValidationUtil.MAX_BATCH_SIZE && lines.hasNextValue()) {
+                productDtos.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            int line = e.getLocation() == null ? 0 : e.getLocation().getLineNr();
+            throw new ProductValidationException("El lote NDJSON no es válido en la línea " + line);
+        }
+        productValidationUtil.validateBatch(productDtos);
+
+        return ResponseEntity.ok(productBatchIngest.ingest(productDtos));
+    }
+
+    /**
+     * Envuelve la respuesta para que cada producto se serialice solo con las propiedades solicitadas;
+     * las demás no se llegan a escribir.
+     */
+    private static MappingJacksonValue project(Object body, List<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(ProductFieldsFilterConfig.projection(fields));
+        return value;
+    }
+
+    private static boolean isProjected(List<String> fields) {
+        return fields != null && !fields.isEmpty();
+    }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, ProductDto product) {
+        try {
+            writer.writeValue(generator, product);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
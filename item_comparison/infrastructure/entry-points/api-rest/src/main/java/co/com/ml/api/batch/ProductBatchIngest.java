@@ -0,0 +1,125 @@
+package co.com.ml.api.batch;
+
+import co.com.ml.api.dto.ProductBatchItemDto;
+import co.com.ml.api.dto.ProductBatchResultDto;
+import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.model.product.Product;
+import co.com.ml.usecase.product.ProductUseCase;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Procesa las cargas de productos por lotes.
+ * Cada producto se valida con las mismas reglas de {@code POST /product}, en paralelo; los válidos reciben
+ * un ID si no lo traen y se persisten juntos con una sola escritura del repositorio. Los inválidos, los
+ * que repiten un ID del mismo lote y los que traen el ID de un producto ya guardado se rechazan sin afectar
+ * al resto; los IDs recibidos se buscan en el repositorio con una sola consulta antes de escribir.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductBatchIngest {
+
+    private static final String PRODUCT_NULL_MESSAGE = "El producto no puede ser nulo";
+    private static final String DUPLICATED_ID_MESSAGE = "El ID está repetido en el lote";
+    private static final String EXISTING_ID_MESSAGE = "Ya existe un producto con el ID";
+
+    private final Validator validator;
+    private final ProductMapper productMapper;
+    private final ProductUseCase productUseCase;
+
+    /**
+     * Valida y persiste el lote.
+     *
+     * @param productDtos productos recibidos, en orden
+     * @return el resultado de cada producto, en el orden recibido
+     */
+    public ProductBatchResultDto ingest(List<ProductDto> productDtos) {
+        List<List<String>> errors = IntStream.range(0, productDtos.size())
+                .parallel()
+                .mapToObj(i -> validate(productDtos.get(i)))
+                .toList();
+
+        List<ProductBatchItemDto> items = new ArrayList<>(Collections.nCopies(productDtos.size(), null));
+        List<Candidate> candidates = new ArrayList<>(productDtos.size());
+        List<String> receivedIds = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < productDtos.size(); i++) {
+            List<String> itemErrors = errors.get(i);
+            if (itemErrors.isEmpty()) {
+                Product product = productMapper.toModel(productDtos.get(i));
+                boolean generated = product.getId() == null || product.getId().trim().isEmpty();
+                if (generated) {
+                    product = product.toBuilder().id(Product.generateId()).build();
+                }
+                if (ids.add(product.getId())) {
+                    candidates.add(new Candidate(i, product));
+                    if (!generated) {
+                        receivedIds.add(product.getId());
+                    }
+                    continue;
+                }
+                itemErrors = List.of(DUPLICATED_ID_MESSAGE);
+            }
+            items.set(i, rejected(i, productDtos.get(i), itemErrors));
+        }
+
+        Set<String> existingIds = receivedIds.isEmpty() ? Set.of() : productUseCase.findExistingIds(receivedIds);
+        List<Product> products = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            int index = candidate.index();
+            Product product = candidate.product();
+            if (existingIds.contains(product.getId())) {
+                items.set(index, rejected(index, productDtos.get(index), List.of(EXISTING_ID_MESSAGE)));
+            } else {
+                products.add(product);
+                items.set(index, item(index, product.getId(), ProductBatchItemDto.CREATED, List.of()));
+            }
+        }
+
+        if (!products.isEmpty()) {
+            productUseCase.addProducts(products);
+        }
+        return ProductBatchResultDto.builder()
+                .created(products.size())
+                .rejected(productDtos.size() - products.size())
+                .items(items)
+                .build();
+    }
+
+    private List<String> validate(ProductDto productDto) {
+        if (productDto == null) {
+            return List.of(PRODUCT_NULL_MESSAGE);
+        }
+        return validator.validate(productDto).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private static ProductBatchItemDto rejected(int index, ProductDto productDto, List<String> errors) {
+        String id = productDto == null ? null : productDto.getId();
+        return item(index, id, ProductBatchItemDto.REJECTED, errors);
+    }
+
+    private static ProductBatchItemDto item(int index, String id, String status, List<String> errors) {
+        return ProductBatchItemDto.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .errors(errors)
+                .build();
+    }
+
+    private record Candidate(int index, Product product) {
+    }
+}
@@ -0,0 +1,94 @@
+package co.com.ml.api.batch;
+
+import co.com.ml.api.dto.ProductComparisonBatchResultDto;
+import co.com.ml.api.dto.ProductComparisonGroupDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.api.util.ProductValidationUtil;
+import co.com.ml.model.exceptions.ProductComparisonException;
+import co.com.ml.model.product.Product;
+import co.com.ml.usecase.product.ProductUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resuelve varias comparaciones en una sola solicitud.
+ * Cada grupo se valida con las mismas reglas de {@code GET /product/compare}; los válidos se resuelven juntos
+ * con una sola consulta al repositorio para la unión de sus IDs. Un grupo inválido o sin suficientes
+ * productos se rechaza sin afectar al resto.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductComparisonBatch {
+
+    private final ProductValidationUtil productValidationUtil;
+    private final ProductMapper productMapper;
+    private final ProductUseCase productUseCase;
+
+    /**
+     * Valida y resuelve las comparaciones.
+     *
+     * @param groups grupos de IDs recibidos, en orden
+     * @return el resultado de cada grupo, en el orden recibido
+     */
+    public ProductComparisonBatchResultDto compare(List<List<String>> groups) {
+        List<String> errors = new ArrayList<>(groups.size());
+        List<List<String>> accepted = new ArrayList<>(groups.size());
+        for (List<String> group : groups) {
+            String error = validate(group);
+            errors.add(error);
+            accepted.add(error == null ? group : null);
+        }
+
+        List<List<Product>> found = productUseCase.compareProductGroups(accepted);
+
+        List<ProductComparisonGroupDto> results = new ArrayList<>(groups.size());
+        int compared = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            String error = errors.get(i);
+            if (error == null) {
+                error = validateResult(groups.get(i), found.get(i));
+            }
+            if (error == null) {
+                compared++;
+                results.add(result(i, ProductComparisonGroupDto.COMPARED, found.get(i), null));
+            } else {
+                results.add(result(i, ProductComparisonGroupDto.REJECTED, List.of(), error));
+            }
+        }
+        return ProductComparisonBatchResultDto.builder()
+                .compared(compared)
+                .rejected(groups.size() - compared)
+                .results(results)
+                .build();
+    }
+
+    private String validate(List<String> group) {
+        try {
+            productValidationUtil.validateProductIdsForComparison(group);
+            return null;
+        } catch (ProductComparisonException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String validateResult(List<String> group, List<Product> products) {
+        try {
+            productValidationUtil.validateComparisonResult(group, products);
+            return null;
+        } catch (ProductComparisonException e) {
+            return e.getMessage();
+        }
+    }
+
+    private ProductComparisonGroupDto result(int index, String status, List<Product> products, String error) {
+        return ProductComparisonGroupDto.builder()
+                .index(index)
+                .status(status)
+                .products(productMapper.toDtoList(products))
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package co.com.ml.api.cache;
+
+import co.com.ml.api.config.ProductJsonCacheProperties;
+import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Caché acotada de la representación JSON (UTF-8) de cada producto.
+ * Los productos no se modifican una vez escritos, por lo que cada uno se mapea y serializa una sola vez y las
+ * respuestas se arman concatenando los bytes conservados. Los productos guardados con {@code POST /product}
+ * se serializan al guardarlos; los cargados por lotes o importados por archivo, en su primera lectura.
+ * Cada entrada guarda también el producto del que proviene y solo se usa si coincide con el consultado,
+ * de modo que dos productos con el mismo ID nunca comparten representación.
+ * <p>
+ * Las lecturas no toman candados: consultan un mapa concurrente y marcan la entrada como usada. Al superar
+ * el máximo se desalojan entradas con la política CLOCK (segunda oportunidad), una aproximación de LRU en la
+ * que una entrada usada desde la última pasada se salta una vez antes de poder desalojarse.
+ */
+@Component
+public class ProductJsonCache {
+
+    private static final byte[] PAGE_PREFIX = "{\"products\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEXT_CURSOR = ",\"nextCursor\":".getBytes(StandardCharsets.UTF_8);
+
+    private static final class Entry {
+
+        private final Product product;
+        private final byte[] json;
+        private volatile boolean referenced;
+
+        private Entry(Product product, byte[] json) {
+            this.product = product;
+            this.json = json;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final ProductMapper productMapper;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> clock = new ConcurrentLinkedQueue<>();
+
+    public ProductJsonCache(ObjectMapper objectMapper, ProductMapper productMapper,
+                            ProductJsonCacheProperties properties) {
+        this.maxEntries = Math.max(0, properties.getMaxEntries());
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(ProductDto.class);
+        this.productMapper = productMapper;
+    }
+
+    /**
+     * Serializa el producto y conserva su representación, para que las lecturas posteriores no lo serialicen.
+     *
+     * @param product producto recién guardado
+     */
+    public void put(Product product) {
+        store(product, serialize(product));
+    }
+
+    /**
+     * Retorna la representación JSON del producto, serializándolo solo si no está en la caché.
+     *
+     * @param product producto a representar
+     * @return el JSON del producto en UTF-8; no debe modificarse
+     */
+    public byte[] json(Product product) {
+        Entry entry = entries.get(product.getId());
+        if (entry != null && entry.product.equals(product)) {
+            entry.referenced = true;
+            return entry.json;
+        }
+        byte[] json = serialize(product);
+        store(product, json);
+        return json;
+    }
+
+    /**
+     * Arma el arreglo JSON de los productos a partir de sus representaciones conservadas.
+     *
+     * @param products productos a representar
+     * @return el arreglo JSON en UTF-8
+     */
+    public byte[] array(List<Product> products) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeArray(products, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Arma la página del listado con la misma forma que {@code ProductPageDto}.
+     *
+     * @param page página de productos
+     * @return la página en JSON UTF-8
+     */
+    public byte[] page(ProductPage page) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(PAGE_PREFIX);
+        writeArray(page.getProducts(), out);
+        out.writeBytes(NEXT_CURSOR);
+        try {
+            out.writeBytes(objectMapper.writeValueAsBytes(page.getNextCursor()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error al serializar el cursor de la página", e);
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private void writeArray(List<Product> products, ByteArrayOutputStream out) {
+        out.write('[');
+        for (int i = 0; i < products.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(json(products.get(i)));
+        }
+        out.write(']');
+    }
+
+    private byte[] serialize(Product product) {
+        try {
+            return writer.writeValueAsBytes(productMapper.toDto(product));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error al serializar el producto " + product.getId(), e);
+        }
+    }
+
+    /**
+     * Cantidad de productos cuya representación se conserva.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(Product product, byte[] json) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (entries.put(product.getId(), new Entry(product, json)) == null) {
+            clock.add(product.getId());
+            evict();
+        }
+    }
+
+    /**
+     * Recorre los IDs en orden de llegada: las entradas usadas desde la última pasada pierden la marca y
+     * vuelven al final; la primera sin marca se desaloja.
+     */
+    private void evict() {
+        while (entries.size() > maxEntries) {
+            String productId = clock.poll();
+            if (productId == null) {
+                return;
+            }
+            Entry entry = entries.get(productId);
+            if (entry != null && entry.referenced) {
+                entry.referenced = false;
+                clock.add(productId);
+            } else {
+                entries.remove(productId);
+            }
+        }
+    }
+}
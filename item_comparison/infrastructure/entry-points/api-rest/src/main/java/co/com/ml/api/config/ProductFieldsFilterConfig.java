@@ -0,0 +1,37 @@
+package co.com.ml.api.config;
+
+import co.com.ml.api.dto.ProductDto;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * Registra en el ObjectMapper de Spring el filtro de campos de {@link ProductDto}.
+ * Por defecto el filtro serializa todas las propiedades; las respuestas que reciben {@code fields}
+ * lo reemplazan por una proyección (ver {@link #projection(Collection)}).
+ */
+@Configuration
+public class ProductFieldsFilterConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer productFieldsFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(ProductDto.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Crea los filtros que serializan de cada producto solo las propiedades indicadas.
+     *
+     * @param fields propiedades a incluir
+     * @return los filtros para la respuesta
+     */
+    public static SimpleFilterProvider projection(Collection<String> fields) {
+        return new SimpleFilterProvider().addFilter(ProductDto.FIELDS_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept(new HashSet<>(fields)));
+    }
+}
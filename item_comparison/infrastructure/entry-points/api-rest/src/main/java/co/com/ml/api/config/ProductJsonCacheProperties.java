@@ -0,0 +1,17 @@
+package co.com.ml.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la caché de productos serializados a JSON.
+ */
+@Data
+@ConfigurationProperties(prefix = "api.json-cache")
+public class ProductJsonCacheProperties {
+
+    /**
+     * Cantidad máxima de productos cuya representación JSON se conserva.
+     */
+    private int maxEntries = 10000;
+}
@@ -0,0 +1,37 @@
+package co.com.ml.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta con el resultado de un producto dentro de una carga por lotes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductBatchItemDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    /**
+     * Posición del producto en el lote recibido, desde 0.
+     */
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("errors")
+    private List<String> errors;
+}
@@ -0,0 +1,28 @@
+package co.com.ml.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de una carga por lotes: totales y resultado de cada producto en el orden recibido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductBatchResultDto {
+
+    @JsonProperty("created")
+    private int created;
+
+    @JsonProperty("rejected")
+    private int rejected;
+
+    @JsonProperty("items")
+    private List<ProductBatchItemDto> items;
+}
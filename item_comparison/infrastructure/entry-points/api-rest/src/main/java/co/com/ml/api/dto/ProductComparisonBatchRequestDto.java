@@ -0,0 +1,22 @@
+package co.com.ml.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de solicitud de varias comparaciones: cada grupo es la lista de IDs de una comparación.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductComparisonBatchRequestDto {
+
+    @JsonProperty("groups")
+    private List<List<String>> groups;
+}
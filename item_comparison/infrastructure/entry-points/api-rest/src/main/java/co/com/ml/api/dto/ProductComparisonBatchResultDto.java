@@ -0,0 +1,28 @@
+package co.com.ml.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de varias comparaciones: totales y resultado de cada grupo en el orden recibido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductComparisonBatchResultDto {
+
+    @JsonProperty("compared")
+    private int compared;
+
+    @JsonProperty("rejected")
+    private int rejected;
+
+    @JsonProperty("results")
+    private List<ProductComparisonGroupDto> results;
+}
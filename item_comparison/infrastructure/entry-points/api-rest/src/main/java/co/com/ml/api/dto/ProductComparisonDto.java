@@ -0,0 +1,26 @@
+package co.com.ml.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de respuesta de una comparación con los atributos de las especificaciones alineados por producto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductComparisonDto {
+
+    @JsonProperty("products")
+    private List<ProductDto> products;
+
+    @JsonProperty("attributes")
+    private Map<String, List<String>> attributes;
+}
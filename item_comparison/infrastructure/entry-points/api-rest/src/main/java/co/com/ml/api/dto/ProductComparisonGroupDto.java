@@ -0,0 +1,37 @@
+package co.com.ml.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta con el resultado de una comparación dentro de una solicitud de varias comparaciones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductComparisonGroupDto {
+
+    public static final String COMPARED = "COMPARED";
+    public static final String REJECTED = "REJECTED";
+
+    /**
+     * Posición del grupo en la solicitud, desde 0.
+     */
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("products")
+    private List<ProductDto> products;
+
+    @JsonProperty("error")
+    private String error;
+}
@@ -1,5 +1,6 @@
 package co.com.ml.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,16 +9,32 @@ import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.*;
 
+import java.util.Set;
+
 /**
  * DTO para validación de entrada de productos en la API REST.
  * Contiene validaciones de Bean Validation para asegurar la integridad de los datos.
+ * Al serializarse pasa por el filtro {@link #FIELDS_FILTER}, que permite proyectar las respuestas a un
+ * subconjunto de {@link #FIELDS}.
  */
+@JsonFilter(ProductDto.FIELDS_FILTER)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
 public class ProductDto {
 
+    /**
+     * Identificador del filtro de propiedades aplicado al serializar.
+     */
+    public static final String FIELDS_FILTER = "productFields";
+
+    /**
+     * Propiedades que pueden solicitarse con el parámetro {@code fields}.
+     */
+    public static final Set<String> FIELDS =
+            Set.of("id", "productName", "imageUrl", "description", "price", "rating", "specifications");
+
     // Validation messages
     private static final String PRODUCT_NAME_REQUIRED = "El nombre del producto es obligatorio";
     private static final String PRODUCT_NAME_SIZE = "El nombre del producto debe tener entre 1 y 100 caracteres";
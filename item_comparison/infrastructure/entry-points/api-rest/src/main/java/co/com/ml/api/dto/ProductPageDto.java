@@ -0,0 +1,25 @@
+package co.com.ml.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de una página del listado de productos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductPageDto {
+
+    @JsonProperty("products")
+    private List<ProductDto> products;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+}
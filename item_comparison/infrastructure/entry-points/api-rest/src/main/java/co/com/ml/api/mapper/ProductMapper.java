@@ -1,7 +1,11 @@
 package co.com.ml.api.mapper;
 
+import co.com.ml.api.dto.ProductComparisonDto;
 import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.dto.ProductPageDto;
 import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductComparison;
+import co.com.ml.model.product.ProductPage;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
@@ -101,4 +105,40 @@ public class ProductMapper {
                 .map(this::toDto)
                 .toList();
     }
+
+    /**
+     * Convierte una página del listado del modelo de dominio a su DTO de respuesta.
+     *
+     * @param page la página del modelo de dominio
+     * @return el ProductPageDto
+     * @throws IllegalArgumentException si page es null
+     */
+    public ProductPageDto toPageDto(ProductPage page) {
+        if (page == null) {
+            throw new IllegalArgumentException("ProductPage no puede ser null");
+        }
+
+        return ProductPageDto.builder()
+                .products(toDtoList(page.getProducts()))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    /**
+     * Convierte una comparación del modelo de dominio a su DTO de respuesta.
+     *
+     * @param comparison la comparación del modelo de dominio
+     * @return el ProductComparisonDto
+     * @throws IllegalArgumentException si comparison es null
+     */
+    public ProductComparisonDto toComparisonDto(ProductComparison comparison) {
+        if (comparison == null) {
+            throw new IllegalArgumentException("ProductComparison no puede ser null");
+        }
+
+        return ProductComparisonDto.builder()
+                .products(toDtoList(comparison.getProducts()))
+                .attributes(comparison.getAttributes())
+                .build();
+    }
 }
@@ -0,0 +1,44 @@
+package co.com.ml.api.metrics;
+
+import co.com.ml.usecase.product.ProductUseCase;
+import co.com.ml.usecase.product.cache.ComparisonCache;
+import co.com.ml.usecase.product.index.ProductIdFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica las métricas de los índices en memoria y de la caché de comparaciones del caso de uso de productos.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductIndexMetrics implements MeterBinder {
+
+    private final ProductUseCase productUseCase;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ProductIdFilter idFilter = productUseCase.getIdFilter();
+        Gauge.builder("product.id.filter.false.positive.rate", idFilter, ProductIdFilter::expectedFalsePositiveRate)
+                .description("Tasa estimada de falsos positivos del filtro de Bloom de IDs")
+                .register(registry);
+        Gauge.builder("product.id.filter.memory", idFilter, ProductIdFilter::memoryBytes)
+                .description("Memoria ocupada por el filtro de Bloom de IDs")
+                .baseUnit("bytes")
+                .register(registry);
+
+        ComparisonCache comparisonCache = productUseCase.getComparisonCache();
+        Gauge.builder("product.comparison.cache.hit.ratio", comparisonCache, ComparisonCache::hitRatio)
+                .description("Proporción de comparaciones respondidas desde la caché")
+                .register(registry);
+        Gauge.builder("product.comparison.cache.size", comparisonCache, ComparisonCache::size)
+                .description("Comparaciones conservadas en la caché")
+                .register(registry);
+        FunctionCounter.builder("product.comparison.cache.evictions", comparisonCache, ComparisonCache::evictions)
+                .description("Comparaciones descartadas o no admitidas por falta de espacio")
+                .register(registry);
+    }
+}
@@ -1,10 +1,14 @@
 package co.com.ml.api.util;
 
+import co.com.ml.api.dto.ProductDto;
 import co.com.ml.model.product.Product;
 import co.com.ml.model.exceptions.ProductValidationException;
 import co.com.ml.model.exceptions.ProductComparisonException;
+import co.com.ml.usecase.product.index.ProductNameAutocomplete;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Utilidades para validación de productos.
  * Contiene las validaciones de negocio para productos.
@@ -12,6 +16,18 @@ import org.springframework.stereotype.Component;
 @Component
 public class ProductValidationUtil {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Cantidad máxima de productos aceptados en una carga por lotes.
+     */
+    public static final int MAX_BATCH_SIZE = 50_000;
+
+    /**
+     * Cantidad máxima de comparaciones aceptadas en una sola solicitud.
+     */
+    public static final int MAX_COMPARISON_GROUPS = 100;
+
     // Error messages
     private static final String PRODUCT_NULL_MESSAGE = "El producto no puede ser nulo";
     private static final String PRODUCT_NAME_REQUIRED = "El nombre del producto es obligatorio";
@@ -28,6 +44,23 @@ public class ProductValidationUtil {
     private static final String PRODUCTS_NOT_EXIST = "Alguno de los productos solicitados no existe";
     private static final String MIN_TWO_PRODUCTS_REQUIRED = "Se requieren al menos dos productos existentes para comparar";
 
+    // Range error messages
+    private static final String NEGATIVE_RANGE_BOUND = "Los límites del rango no pueden ser negativos";
+    private static final String INVALID_PRICE_RANGE = "El precio mínimo no puede ser mayor al precio máximo";
+
+    // Search error messages
+    private static final String QUERY_REQUIRED = "El texto de búsqueda es obligatorio";
+    private static final String INVALID_PAGE = "La página no puede ser negativa";
+    private static final String INVALID_PAGE_SIZE = "El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE;
+    private static final String INVALID_THRESHOLD = "El umbral de similitud debe ser mayor a 0 y menor o igual a 1";
+    private static final String PREFIX_REQUIRED = "El prefijo a completar es obligatorio";
+    private static final String INVALID_FIELD = "Campo no soportado en fields: ";
+    private static final String INVALID_BATCH_SIZE = "El lote debe tener entre 1 y " + MAX_BATCH_SIZE + " productos";
+    private static final String INVALID_SUGGESTION_LIMIT =
+            "La cantidad de sugerencias debe estar entre 1 y " + ProductNameAutocomplete.MAX_SUGGESTIONS;
+    private static final String INVALID_COMPARISON_GROUPS =
+            "La solicitud debe tener entre 1 y " + MAX_COMPARISON_GROUPS + " grupos de IDs";
+
     /**
      * Valida que un producto cumpla con todas las reglas de negocio.
      * 
@@ -152,4 +185,135 @@ public class ProductValidationUtil {
             }
         }
     }
+
+    /**
+     * Valida los límites de una consulta por rango de precio y calificación.
+     *
+     * @param minPrice precio mínimo (opcional)
+     * @param maxPrice precio máximo (opcional)
+     * @param minRating calificación mínima (opcional)
+     * @throws ProductValidationException si algún límite es negativo o el rango de precio es inválido
+     */
+    public void validateRange(Double minPrice, Double maxPrice, Double minRating) {
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)
+                || (minRating != null && minRating < 0)) {
+            throw new ProductValidationException(NEGATIVE_RANGE_BOUND);
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new ProductValidationException(INVALID_PRICE_RANGE);
+        }
+    }
+
+    /**
+     * Valida que los campos solicitados para proyectar la respuesta existan en el producto.
+     *
+     * @param fields campos solicitados, o null para todos
+     * @throws ProductValidationException si algún campo no existe
+     */
+    public void validateFields(List<String> fields) {
+        if (fields == null) {
+            return;
+        }
+        for (String field : fields) {
+            if (!ProductDto.FIELDS.contains(field)) {
+                throw new ProductValidationException(INVALID_FIELD + field);
+            }
+        }
+    }
+
+    /**
+     * Valida el tamaño de una carga por lotes; los productos se validan uno a uno al procesarla.
+     *
+     * @param products productos recibidos
+     * @throws ProductValidationException si el lote está vacío o supera {@link #MAX_BATCH_SIZE}
+     */
+    public void validateBatch(List<ProductDto> products) {
+        if (products == null || products.isEmpty() || products.size() > MAX_BATCH_SIZE) {
+            throw new ProductValidationException(INVALID_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Valida la cantidad de grupos de una solicitud de varias comparaciones. Cada grupo se valida por
+     * separado con {@link #validateProductIdsForComparison(List)}.
+     *
+     * @param groups grupos de IDs a comparar
+     * @throws ProductValidationException si no hay grupos o superan el máximo
+     */
+    public void validateComparisonBatch(List<List<String>> groups) {
+        if (groups == null || groups.isEmpty() || groups.size() > MAX_COMPARISON_GROUPS) {
+            throw new ProductValidationException(INVALID_COMPARISON_GROUPS);
+        }
+    }
+
+    /**
+     * Valida el tamaño de una página del listado de productos.
+     *
+     * @param limit cantidad máxima de productos de la página
+     * @throws ProductValidationException si el tamaño es inválido
+     */
+    public void validateListing(int limit) {
+        validatePage(0, limit);
+    }
+
+    /**
+     * Valida los parámetros de una búsqueda paginada.
+     *
+     * @param query texto de búsqueda
+     * @param page número de página
+     * @param size tamaño de página
+     * @throws ProductValidationException si algún parámetro es inválido
+     */
+    public void validateSearch(String query, int page, int size) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ProductValidationException(QUERY_REQUIRED);
+        }
+        validatePage(page, size);
+    }
+
+    /**
+     * Valida los parámetros de una búsqueda aproximada.
+     *
+     * @param query texto de búsqueda
+     * @param threshold similitud mínima
+     * @param limit cantidad máxima de resultados
+     * @throws ProductValidationException si algún parámetro es inválido
+     */
+    public void validateFuzzySearch(String query, double threshold, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ProductValidationException(QUERY_REQUIRED);
+        }
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new ProductValidationException(INVALID_THRESHOLD);
+        }
+        validatePage(0, limit);
+    }
+
+    /**
+     * Valida los parámetros de una consulta de autocompletado.
+     *
+     * @param prefix prefijo a completar
+     * @param limit cantidad máxima de sugerencias
+     * @throws ProductValidationException si algún parámetro es inválido
+     */
+    public void validateAutocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new ProductValidationException(PREFIX_REQUIRED);
+        }
+        if (limit < 1 || limit > ProductNameAutocomplete.MAX_SUGGESTIONS) {
+            throw new ProductValidationException(INVALID_SUGGESTION_LIMIT);
+        }
+    }
+
+    /**
+     * Valida el número y el tamaño de una página de resultados.
+     */
+    private void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new ProductValidationException(INVALID_PAGE);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ProductValidationException(INVALID_PAGE_SIZE);
+        }
+    }
 }
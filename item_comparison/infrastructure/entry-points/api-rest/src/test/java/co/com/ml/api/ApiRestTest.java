@@ -1 +1,229 @@
- 
\ No newline at end of file
+package co.com.ml.api;
+
+import co.com.ml.api.batch.ProductBatchIngest;
+import co.com.ml.api.batch.ProductComparisonBatch;
+import co.com.ml.api.cache.ProductJsonCache;
+import co.com.ml.api.config.ProductFieldsFilterConfig;
+import co.com.ml.api.config.ProductJsonCacheProperties;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.api.util.ProductValidationUtil;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import co.com.ml.usecase.product.ProductUseCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ApiRest.class)
+@Import({ProductValidationUtil.class, ProductMapper.class, ProductJsonCache.class, ProductJsonCacheProperties.class,
+        ProductFieldsFilterConfig.class})
+@DisplayName("Tests para ApiRest")
+class ApiRestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ProductUseCase productUseCase;
+
+    @MockitoBean
+    private ProductBatchIngest productBatchIngest;
+
+    @MockitoBean
+    private ProductComparisonBatch productComparisonBatch;
+
+    private final AtomicLong catalogVersion = new AtomicLong(1);
+
+    private Product product1;
+    private Product product2;
+
+    @BeforeEach
+    void setUp() {
+        product1 = Product.builder().id("p1").productName("Laptop").imageUrl("https://ejemplo.com/1.jpg")
+                .description("Laptop ultradelgada").price(899.99).rating(4.3).specifications("{}").build();
+        product2 = Product.builder().id("p2").productName("Smartphone").imageUrl("https://ejemplo.com/2.jpg")
+                .description("Smartphone de alta gama").price(699.99).rating(4.7).specifications("{}").build();
+        when(productUseCase.catalogVersion()).thenAnswer(invocation -> catalogVersion.get());
+        when(productUseCase.listProducts(isNull(), anyInt()))
+                .thenReturn(ProductPage.builder().products(Arrays.asList(product1, product2)).build());
+        when(productUseCase.compareProducts(Arrays.asList("p1", "p2"))).thenReturn(Arrays.asList(product1, product2));
+    }
+
+    @Test
+    @DisplayName("Debería responder 304 sin consultar productos cuando el ETag coincide")
+    void shouldAnswerNotModifiedWhenEtagMatches() throws Exception {
+        // Arrange
+        String listEtag = mockMvc.perform(get("/product"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String compareEtag = mockMvc.perform(get("/product/compare").param("ids", "p1", "p2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/product").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/product/compare").param("ids", "p1", "p2")
+                        .header(HttpHeaders.IF_NONE_MATCH, compareEtag))
+                .andExpect(status().isNotModified());
+        assertNotNull(listEtag);
+        assertNotEquals(listEtag, compareEtag);
+        verify(productUseCase, times(1)).listProducts(isNull(), anyInt());
+        verify(productUseCase, times(1)).compareProducts(any());
+    }
+
+    @Test
+    @DisplayName("Debería cambiar el ETag después de guardar un producto")
+    void shouldChangeEtagAfterSavingProduct() throws Exception {
+        // Arrange
+        when(productUseCase.addProduct(any())).thenAnswer(invocation -> {
+            catalogVersion.incrementAndGet();
+            return invocation.getArgument(0);
+        });
+        String etag = mockMvc.perform(get("/product"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        mockMvc.perform(post("/product").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"productName":"Tablet","imageUrl":"https://ejemplo.com/3.jpg",
+                         "description":"Tablet de 10 pulgadas","price":299.99,"rating":4.1,
+                         "specifications":"{\\"ram\\": \\"4GB\\"}"}"""))
+                .andExpect(status().isCreated());
+
+        // Assert
+        String next = mockMvc.perform(get("/product").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, next);
+        verify(productUseCase, times(2)).listProducts(isNull(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debería exportar un producto JSON por línea")
+    @SuppressWarnings("unchecked")
+    void shouldExportOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product1);
+            consumer.accept(product2);
+            return null;
+        }).when(productUseCase).forEachProduct(any(Consumer.class));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/product/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Assert
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertEquals("p1", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("Smartphone", objectMapper.readTree(lines[1]).get("productName").asText());
+    }
+
+    @Test
+    @DisplayName("Debería incluir solo los campos solicitados en el listado y la comparación")
+    void shouldIncludeOnlyRequestedFieldsInListAndCompare() throws Exception {
+        // Act
+        JsonNode list = objectMapper.readTree(mockMvc.perform(get("/product").param("fields", "id,price"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+        JsonNode compare = objectMapper.readTree(mockMvc.perform(get("/product/compare")
+                        .param("ids", "p1", "p2")
+                        .param("fields", "id,price"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(2, list.get("products").size());
+        assertEquals(List.of("id", "price"), fieldNames(list.get("products").get(0)));
+        assertEquals(899.99, list.get("products").get(0).get("price").asDouble());
+        assertEquals(2, compare.size());
+        assertEquals(List.of("id", "price"), fieldNames(compare.get(1)));
+        assertEquals("p2", compare.get(1).get("id").asText());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un campo no soportado en fields")
+    void shouldRejectUnsupportedField() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/product").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+        verify(productUseCase, never()).listProducts(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debería paginar la búsqueda por rango con el cursor y el límite recibidos")
+    void shouldPageRangeQueryWithCursorAndLimit() throws Exception {
+        // Arrange
+        when(productUseCase.findProductsInRange(100.0, 1000.0, null, "c1", 2))
+                .thenReturn(ProductPage.builder().products(Arrays.asList(product1, product2)).nextCursor("c2").build());
+
+        // Act
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/product/range")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "1000")
+                        .param("cursor", "c1")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(2, page.get("products").size());
+        assertEquals("c2", page.get("nextCursor").asText());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un límite fuera de rango en la búsqueda por rango")
+    void shouldRejectRangeQueryLimitOutOfBounds() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/product/range").param("minPrice", "100").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+        verify(productUseCase, never()).findProductsInRange(any(), any(), any(), any(), anyInt());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,118 @@
+package co.com.ml.api.batch;
+
+import co.com.ml.api.dto.ProductBatchItemDto;
+import co.com.ml.api.dto.ProductBatchResultDto;
+import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.model.product.Product;
+import co.com.ml.usecase.product.ProductUseCase;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para ProductBatchIngest")
+class ProductBatchIngestTest {
+
+    @Mock
+    private ProductUseCase productUseCase;
+
+    private ProductBatchIngest productBatchIngest;
+
+    @BeforeEach
+    void setUp() {
+        productBatchIngest = new ProductBatchIngest(
+                Validation.buildDefaultValidatorFactory().getValidator(), new ProductMapper(), productUseCase);
+    }
+
+    @Test
+    @DisplayName("Debería guardar los productos válidos en una sola escritura y rechazar el resto")
+    void shouldSaveValidProductsInOneWriteAndRejectTheRest() {
+        // Arrange
+        when(productUseCase.addProducts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<ProductDto> batch = Arrays.asList(
+                validProduct(null),
+                validProduct(null).toBuilder().productName(" ").build(),
+                null,
+                validProduct("p1"),
+                validProduct("p1"));
+
+        // Act
+        ProductBatchResultDto result = productBatchIngest.ingest(batch);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Product>> saved = ArgumentCaptor.forClass(List.class);
+        verify(productUseCase, times(1)).addProducts(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertNotNull(saved.getValue().get(0).getId());
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertEquals(Arrays.asList(ProductBatchItemDto.CREATED, ProductBatchItemDto.REJECTED,
+                        ProductBatchItemDto.REJECTED, ProductBatchItemDto.CREATED, ProductBatchItemDto.REJECTED),
+                result.getItems().stream().map(ProductBatchItemDto::getStatus).toList());
+        assertEquals(List.of("El ID está repetido en el lote"), result.getItems().get(4).getErrors());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar por producto los IDs que ya existen en el repositorio")
+    void shouldRejectIdsThatAlreadyExist() {
+        // Arrange
+        when(productUseCase.findExistingIds(List.of("p1", "p2"))).thenReturn(Set.of("p2"));
+        when(productUseCase.addProducts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<ProductDto> batch = Arrays.asList(validProduct("p1"), validProduct("p2"), validProduct(null));
+
+        // Act
+        ProductBatchResultDto result = productBatchIngest.ingest(batch);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Product>> saved = ArgumentCaptor.forClass(List.class);
+        verify(productUseCase).addProducts(saved.capture());
+        assertEquals("p1", saved.getValue().get(0).getId());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertEquals(ProductBatchItemDto.REJECTED, result.getItems().get(1).getStatus());
+        assertEquals("p2", result.getItems().get(1).getId());
+        assertEquals(List.of("Ya existe un producto con el ID"), result.getItems().get(1).getErrors());
+    }
+
+    @Test
+    @DisplayName("Debería no escribir en el repositorio cuando todos los productos son inválidos")
+    void shouldNotWriteWhenAllProductsAreInvalid() {
+        // Act
+        ProductBatchResultDto result = productBatchIngest.ingest(Arrays.asList(null, new ProductDto()));
+
+        // Assert
+        assertEquals(0, result.getCreated());
+        assertEquals(List.of("El producto no puede ser nulo"), result.getItems().get(0).getErrors());
+        assertFalse(result.getItems().get(1).getErrors().isEmpty());
+        verifyNoInteractions(productUseCase);
+    }
+
+    private static ProductDto validProduct(String id) {
+        return ProductDto.builder()
+                .id(id)
+                .productName("Laptop Gaming")
+                .imageUrl("https://example.com/laptop.jpg")
+                .description("Laptop para gaming de alta gama")
+                .price(1500.0)
+                .rating(4.5)
+                .specifications("Intel i7, 16GB RAM, RTX 3070")
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package co.com.ml.api.batch;
+
+import co.com.ml.api.dto.ProductComparisonBatchResultDto;
+import co.com.ml.api.dto.ProductComparisonGroupDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.api.util.ProductValidationUtil;
+import co.com.ml.model.product.Product;
+import co.com.ml.usecase.product.ProductUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para ProductComparisonBatch")
+class ProductComparisonBatchTest {
+
+    @Mock
+    private ProductUseCase productUseCase;
+
+    private ProductComparisonBatch productComparisonBatch;
+
+    @BeforeEach
+    void setUp() {
+        productComparisonBatch = new ProductComparisonBatch(
+                new ProductValidationUtil(), new ProductMapper(), productUseCase);
+    }
+
+    @Test
+    @DisplayName("Debería resolver los grupos válidos juntos y rechazar el resto por grupo")
+    void shouldResolveValidGroupsTogetherAndRejectTheRest() {
+        // Arrange
+        Product product1 = Product.builder().id("p1").productName("Producto 1").build();
+        Product product2 = Product.builder().id("p2").productName("Producto 2").build();
+        List<List<String>> groups = Arrays.asList(
+                Arrays.asList("p1", "p2"),
+                List.of("p1"),
+                Arrays.asList("p1", "p9"));
+        when(productUseCase.compareProductGroups(Arrays.asList(groups.get(0), null, groups.get(2))))
+                .thenReturn(Arrays.asList(Arrays.asList(product1, product2), List.of(), List.of(product1)));
+
+        // Act
+        ProductComparisonBatchResultDto result = productComparisonBatch.compare(groups);
+
+        // Assert
+        verify(productUseCase, times(1)).compareProductGroups(anyList());
+        assertEquals(1, result.getCompared());
+        assertEquals(2, result.getRejected());
+        List<ProductComparisonGroupDto> results = result.getResults();
+        assertEquals(ProductComparisonGroupDto.COMPARED, results.get(0).getStatus());
+        assertEquals(Arrays.asList("p1", "p2"), results.get(0).getProducts().stream().map(p -> p.getId()).toList());
+        assertEquals(ProductComparisonGroupDto.REJECTED, results.get(1).getStatus());
+        assertEquals("Debe proporcionar al menos dos IDs", results.get(1).getError());
+        assertEquals(ProductComparisonGroupDto.REJECTED, results.get(2).getStatus());
+        assertEquals("Alguno de los productos solicitados no existe", results.get(2).getError());
+        assertTrue(results.get(2).getProducts().isEmpty());
+    }
+}
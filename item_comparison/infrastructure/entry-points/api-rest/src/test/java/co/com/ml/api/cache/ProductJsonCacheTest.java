@@ -0,0 +1,102 @@
+package co.com.ml.api.cache;
+
+import co.com.ml.api.config.ProductJsonCacheProperties;
+import co.com.ml.api.dto.ProductDto;
+import co.com.ml.api.mapper.ProductMapper;
+import co.com.ml.model.product.Product;
+import co.com.ml.model.product.ProductPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ProductJsonCache")
+class ProductJsonCacheTest {
+
+    private ObjectMapper objectMapper;
+    private ProductJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.setFilterProvider(new SimpleFilterProvider()
+                .addFilter(ProductDto.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+        cache = new ProductJsonCache(objectMapper, new ProductMapper(), new ProductJsonCacheProperties());
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar el JSON conservado y serializar de nuevo un producto distinto con el mismo ID")
+    void shouldReuseCachedJsonOnlyForTheSameProduct() throws Exception {
+        // Arrange
+        Product product = product("p1", 10.0);
+        cache.put(product);
+
+        // Act
+        byte[] first = cache.json(product);
+        byte[] second = cache.json(product.toBuilder().build());
+        byte[] changed = cache.json(product("p1", 20.0));
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, changed);
+        assertEquals(20.0, objectMapper.readTree(changed).get("price").asDouble());
+    }
+
+    @Test
+    @DisplayName("Debería armar la página con la misma forma que ProductPageDto")
+    void shouldAssemblePageLikeProductPageDto() throws Exception {
+        // Arrange
+        ProductPage page = ProductPage.builder()
+                .products(List.of(product("p1", 10.0), product("p2", 20.0)))
+                .nextCursor("AAAAAAAAAAI")
+                .build();
+
+        // Act
+        JsonNode json = objectMapper.readTree(cache.page(page));
+
+        // Assert
+        assertEquals(2, json.get("products").size());
+        assertEquals("p2", json.get("products").get(1).get("id").asText());
+        assertEquals("Laptop", json.get("products").get(0).get("productName").asText());
+        assertEquals("AAAAAAAAAAI", json.get("nextCursor").asText());
+        assertTrue(objectMapper.readTree(cache.array(List.of())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería desalojar primero los productos no leídos desde la última pasada")
+    void shouldEvictProductsNotReadSinceLastSweep() {
+        // Arrange
+        ProductJsonCacheProperties properties = new ProductJsonCacheProperties();
+        properties.setMaxEntries(2);
+        ProductJsonCache small = new ProductJsonCache(objectMapper, new ProductMapper(), properties);
+        byte[] first = small.json(product("p1", 10.0));
+        byte[] second = small.json(product("p2", 20.0));
+        small.json(product("p1", 10.0));
+
+        // Act
+        small.json(product("p3", 30.0));
+
+        // Assert
+        assertEquals(2, small.size());
+        assertSame(first, small.json(product("p1", 10.0)));
+        assertNotSame(second, small.json(product("p2", 20.0)));
+    }
+
+    private static Product product(String id, Double price) {
+        return Product.builder()
+                .id(id)
+                .productName("Laptop")
+                .imageUrl("https://example.com/laptop.jpg")
+                .description("Laptop ultradelgada")
+                .price(price)
+                .rating(4.5)
+                .build();
+    }
+}
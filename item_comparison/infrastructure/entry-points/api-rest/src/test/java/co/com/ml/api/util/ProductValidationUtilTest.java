@@ -358,4 +358,56 @@ class ProductValidationUtilTest {
         
         assertEquals("Se requieren al menos dos productos existentes para comparar", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Debería aceptar un rango con límites opcionales")
+    void shouldAcceptRangeWithOptionalBounds() {
+        // Act & Assert
+        assertDoesNotThrow(() -> productValidationUtil.validateRange(100.0, null, 4.0));
+        assertDoesNotThrow(() -> productValidationUtil.validateRange(null, null, null));
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción cuando el precio mínimo supera al máximo")
+    void shouldThrowExceptionWhenMinPriceIsGreaterThanMaxPrice() {
+        // Act & Assert
+        ProductValidationException exception = assertThrows(
+                ProductValidationException.class,
+                () -> productValidationUtil.validateRange(500.0, 100.0, null)
+        );
+
+        assertEquals("El precio mínimo no puede ser mayor al precio máximo", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción cuando el texto de búsqueda está vacío")
+    void shouldThrowExceptionWhenSearchQueryIsBlank() {
+        // Act & Assert
+        ProductValidationException exception = assertThrows(
+                ProductValidationException.class,
+                () -> productValidationUtil.validateSearch("  ", 0, 20)
+        );
+
+        assertEquals("El texto de búsqueda es obligatorio", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería aceptar una proyección con campos soportados o sin campos")
+    void shouldAcceptSupportedFields() {
+        // Act & Assert
+        assertDoesNotThrow(() -> productValidationUtil.validateFields(java.util.List.of("id", "productName", "price")));
+        assertDoesNotThrow(() -> productValidationUtil.validateFields(null));
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción cuando se solicita un campo no soportado")
+    void shouldThrowExceptionWhenFieldIsNotSupported() {
+        // Act & Assert
+        ProductValidationException exception = assertThrows(
+                ProductValidationException.class,
+                () -> productValidationUtil.validateFields(java.util.List.of("id", "stock"))
+        );
+
+        assertEquals("Campo no soportado en fields: stock", exception.getMessage());
+    }
 }